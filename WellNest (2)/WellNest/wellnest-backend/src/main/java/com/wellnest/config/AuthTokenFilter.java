@@ -1,13 +1,15 @@
 package com.wellnest.config;
 
+import com.wellnest.service.AccessTokenRevocations;
+import com.wellnest.service.TokenVersionService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -25,6 +27,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private AccessTokenRevocations accessTokenRevocations;
+
+    @Value("${wellnest.security.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(@org.springframework.lang.NonNull HttpServletRequest request,
             @org.springframework.lang.NonNull HttpServletResponse response,
@@ -32,16 +43,29 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                String role = jwtUtils.getRoleFromJwtToken(jwt);
+            JwtClaims claims = jwt != null ? jwtUtils.verifyAndExtract(jwt).orElse(null) : null;
+            // Logged-out access tokens are rejected from memory, without a database lookup
+            if (claims != null && !accessTokenRevocations.isRevoked(claims.jti())) {
+                String username = claims.username();
+                String role = claims.role();
+
+                Object principal;
+                if (statelessPrincipal && claims.userId() != null && claims.tokenVersion() != null) {
+                    // Revoked tokens fall through unauthenticated, like an invalid signature
+                    principal = tokenVersionService.isCurrent(claims.userId(), claims.tokenVersion())
+                            ? new JwtPrincipal(claims.userId(), username, role)
+                            : null;
+                } else {
+                    principal = userDetailsService.loadUserByUsername(username);
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (principal != null) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             // Log error
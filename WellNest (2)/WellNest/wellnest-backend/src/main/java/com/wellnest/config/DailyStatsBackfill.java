@@ -0,0 +1,30 @@
+package com.wellnest.config;
+
+import com.wellnest.repository.DailyUserStatsRepository;
+import com.wellnest.repository.UserRepository;
+import com.wellnest.service.DailyStatsRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DailyStatsBackfill implements CommandLineRunner {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyUserStatsRepository dailyUserStatsRepository;
+
+    @Autowired
+    private DailyStatsRollupService dailyStatsRollupService;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Only the first start after the rollup table appears needs this;
+        // afterwards every write path keeps the rows current.
+        if (dailyUserStatsRepository.count() == 0) {
+            userRepository.findAll().forEach(dailyStatsRollupService::rebuild);
+        }
+    }
+}
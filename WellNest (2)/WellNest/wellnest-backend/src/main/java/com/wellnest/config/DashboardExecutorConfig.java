@@ -0,0 +1,31 @@
+package com.wellnest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${wellnest.dashboard.parallel.pool-size:8}") int poolSize,
+            @Value("${wellnest.dashboard.parallel.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        // When saturated the request thread loads the section itself, which is the serial behaviour
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Sections see the caller's user and primary scope, which replica routing needs to keep recent
+        // writers and cache fills on the primary
+        executor.setTaskDecorator(task -> new DelegatingSecurityContextRunnable(
+                ReplicaRoutingDataSource.inheritScope(task)));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.wellnest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "wellnest.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // Built from spring.datasource.*; Flyway migrates this one only
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Value("${wellnest.datasource.replica.urls}") List<String> urls,
+            @Value("${wellnest.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${wellnest.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${wellnest.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${wellnest.datasource.replica.sticky-seconds:5}") long stickySeconds,
+            @Value("${wellnest.datasource.replica.sticky-max-users:100000}") long stickyMaxUsers,
+            @Value("${wellnest.datasource.replica.migrate:false}") boolean migrate,
+            @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank())
+                continue;
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Only for stand-in replicas that nothing replicates into, such as the local H2 profile
+            if (migrate)
+                Flyway.configure().dataSource(replica).locations(migrationLocations).load().migrate();
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty())
+            throw new IllegalStateException("wellnest.datasource.replica.urls must list at least one replica");
+        return new ReplicaRoutingDataSource(primary, replicas, stickySeconds, stickyMaxUsers);
+    }
+
+    // Connections are fetched on first statement, after the transaction has declared itself read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // With open-in-view the session outlives each transaction; releasing the connection at commit lets the
+    // next transaction in the same request be routed on its own
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,69 @@
+package com.wellnest.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets in GCRA form: each key holds only its theoretical arrival
+ * time (TAT) in an AtomicLong, updated with a CAS loop. Keys are spread over
+ * stripes that are swept independently, so idle keys are dropped without a
+ * global pass or a background thread.
+ */
+final class GcraBuckets {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    // Nanoseconds per permitted request, and how far ahead of now the TAT may run (the burst)
+    private final long emissionInterval;
+    private final long tolerance;
+    private final long sweepInterval;
+
+    GcraBuckets(double ratePerMinute, int burst) {
+        this.emissionInterval = (long) (60_000_000_000L / Math.max(ratePerMinute, 1e-9));
+        this.tolerance = emissionInterval * Math.max(burst - 1, 0);
+        this.sweepInterval = Math.max(emissionInterval + tolerance, 1_000_000_000L);
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new Stripe();
+    }
+
+    // Returns 0 when the request is admitted, otherwise the nanoseconds until it would be
+    long acquire(String key, long now) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        stripe.maybeSweep(now);
+
+        AtomicLong tat = stripe.buckets.get(key);
+        if (tat == null)
+            tat = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(current, now);
+            long waited = start - now;
+            if (waited > tolerance)
+                return waited - tolerance;
+            if (tat.compareAndSet(current, start + emissionInterval))
+                return 0;
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes)
+            size += stripe.buckets.size();
+        return size;
+    }
+
+    private final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong nextSweep = new AtomicLong();
+
+        // A key whose TAT has passed is back to a full bucket, so dropping it changes nothing
+        void maybeSweep(long now) {
+            long due = nextSweep.get();
+            if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepInterval))
+                return;
+            buckets.values().removeIf(tat -> tat.get() - now < 0);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.wellnest.config;
+
+import java.time.Instant;
+
+// userId, tokenVersion and jti are null for tokens issued before they were added to the claims
+public record JwtClaims(String username, String role, Long userId, Long tokenVersion, String jti,
+        Instant expiresAt) {
+}
@@ -0,0 +1,12 @@
+package com.wellnest.config;
+
+import java.security.Principal;
+
+// Authenticated user built only from verified token claims, so no users lookup is needed per request
+public record JwtPrincipal(Long id, String username, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,11 +1,23 @@
 package com.wellnest.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
@@ -16,37 +28,99 @@ public class JwtUtils {
     @Value("${wellnest.jwt.expiration}")
     private int jwtExpirationMs;
 
-    public String generateToken(String username, String role) {
+    @Value("${wellnest.jwt.cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    // Claims of tokens whose signature already checked out, keyed by SHA-256 of the token and
+    // dropped when the token itself expires
+    private Cache<String, JwtClaims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public String generateToken(String username, String role, Long userId, long tokenVersion) {
         return Jwts.builder()
                 .setSubject(username)
                 .claim("role", role)
+                .claim("uid", userId)
+                .claim("tv", tokenVersion)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Verifies the signature and expiry once and returns everything the filter needs
+    public Optional<JwtClaims> verifyAndExtract(String token) {
+        if (token == null || token.isEmpty())
+            return Optional.empty();
+
+        String key = sha256(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now()))
+            return Optional.of(cached);
+
+        try {
+            Claims body = parser.parseClaimsJws(token).getBody();
+            if (body.getExpiration() == null)
+                return Optional.empty();
+            JwtClaims claims = new JwtClaims(body.getSubject(), body.get("role", String.class),
+                    body.get("uid", Long.class), body.get("tv", Long.class), body.getId(),
+                    body.getExpiration().toInstant());
+            verifiedTokens.put(key, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return verifyAndExtract(token).map(JwtClaims::username).orElse(null);
     }
 
     public String getRoleFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
+        return verifyAndExtract(token).map(JwtClaims::role).orElse(null);
     }
 
     public boolean validateJwtToken(String authToken) {
+        return verifyAndExtract(authToken).isPresent();
+    }
+
+    public static String sha256(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            // Log error
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 }
@@ -0,0 +1,43 @@
+package com.wellnest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PasswordVerifierExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordVerifierExecutor(
+            @Value("${wellnest.auth.verify.pool-size:0}") int poolSize,
+            @Value("${wellnest.auth.verify.queue-capacity:64}") int queueCapacity) {
+        // 0 sizes the pool to the cores, since BCrypt is pure CPU work
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        // Saturation is rejected rather than run on the caller, which would put BCrypt back on Tomcat's threads
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor loginTokenExecutor(
+            @Value("${wellnest.auth.issue.pool-size:8}") int poolSize,
+            @Value("${wellnest.auth.issue.queue-capacity:200}") int queueCapacity) {
+        // Issuing tokens after a successful check is database work, kept off the core-sized BCrypt pool
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
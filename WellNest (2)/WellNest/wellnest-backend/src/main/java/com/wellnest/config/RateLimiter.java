@@ -0,0 +1,94 @@
+package com.wellnest.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class RateLimiter {
+
+    public enum EndpointClass {
+        AUTH,
+        DASHBOARD,
+        WRITE,
+        DEFAULT
+    }
+
+    private final boolean enabled;
+
+    private final Map<EndpointClass, GcraBuckets> buckets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, LongAdder> admitted = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, LongAdder> rejected = new EnumMap<>(EndpointClass.class);
+
+    public RateLimiter(@Value("${wellnest.rate-limit.enabled:true}") boolean enabled,
+            @Value("${wellnest.rate-limit.auth.per-minute:20}") double authRate,
+            @Value("${wellnest.rate-limit.auth.burst:10}") int authBurst,
+            @Value("${wellnest.rate-limit.dashboard.per-minute:60}") double dashboardRate,
+            @Value("${wellnest.rate-limit.dashboard.burst:20}") int dashboardBurst,
+            @Value("${wellnest.rate-limit.write.per-minute:120}") double writeRate,
+            @Value("${wellnest.rate-limit.write.burst:30}") int writeBurst,
+            @Value("${wellnest.rate-limit.default.per-minute:300}") double defaultRate,
+            @Value("${wellnest.rate-limit.default.burst:60}") int defaultBurst) {
+        this.enabled = enabled;
+        buckets.put(EndpointClass.AUTH, new GcraBuckets(authRate, authBurst));
+        buckets.put(EndpointClass.DASHBOARD, new GcraBuckets(dashboardRate, dashboardBurst));
+        buckets.put(EndpointClass.WRITE, new GcraBuckets(writeRate, writeBurst));
+        buckets.put(EndpointClass.DEFAULT, new GcraBuckets(defaultRate, defaultBurst));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            admitted.put(endpointClass, new LongAdder());
+            rejected.put(endpointClass, new LongAdder());
+        }
+    }
+
+    // Returns 0 when admitted, otherwise the seconds the client should wait before retrying
+    public long acquire(HttpServletRequest request, Authentication authentication) {
+        if (!enabled || "OPTIONS".equals(request.getMethod()))
+            return 0;
+
+        EndpointClass endpointClass = classify(request);
+        // Sign-in traffic is limited per address, everything else per user once authenticated
+        String key = endpointClass != EndpointClass.AUTH && authentication != null
+                && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)
+                        ? authentication.getName()
+                        : request.getRemoteAddr();
+
+        long waitNanos = buckets.get(endpointClass).acquire(key, System.nanoTime());
+        if (waitNanos == 0) {
+            admitted.get(endpointClass).increment();
+            return 0;
+        }
+        rejected.get(endpointClass).increment();
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("admitted", admitted.get(endpointClass).sum());
+            stats.put("rejected", rejected.get(endpointClass).sum());
+            stats.put("trackedKeys", buckets.get(endpointClass).size());
+            result.put(endpointClass.name().toLowerCase(), stats);
+        }
+        return result;
+    }
+
+    private static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/"))
+            return EndpointClass.AUTH;
+        if (path.startsWith("/api/user/dashboard") || path.equals("/api/trainer/stats")
+                || (path.startsWith("/api/trainer/users/") && path.endsWith("/dashboard-stats")))
+            return EndpointClass.DASHBOARD;
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod()))
+            return EndpointClass.WRITE;
+        return EndpointClass.DEFAULT;
+    }
+}
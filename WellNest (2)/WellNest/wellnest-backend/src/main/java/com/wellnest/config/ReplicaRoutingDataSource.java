@@ -0,0 +1,171 @@
+package com.wellnest.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pools in turn and everything
+ * else to the primary. A user who committed a write within the sticky window
+ * keeps reading from the primary, so they never see a replica that has not
+ * caught up with their own change yet. The same holds for the users whose
+ * data was written, when someone else (a trainer, an admin) made the change.
+ *
+ * <p>Reads that end up cached or tagged with a data version run inside
+ * {@link #onPrimary}, so a lagging replica is never stored or served under a
+ * version it does not have.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    // Set on threads whose reads must come from the primary
+    private static final ThreadLocal<Boolean> PRIMARY_SCOPE = new ThreadLocal<>();
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long stickySeconds;
+
+    // Users with a write committed inside the sticky window
+    private final Cache<String, Boolean> recentWriters;
+
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder stickyRoutes = new LongAdder();
+    private final LongAdder pinnedRoutes = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, long stickySeconds,
+            long maxTrackedWriters) {
+        if (replicas.isEmpty())
+            throw new IllegalArgumentException("At least one replica is required");
+        this.replicas = List.copyOf(replicas);
+        this.stickySeconds = stickySeconds;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedWriters)
+                .expireAfterWrite(Duration.ofSeconds(stickySeconds))
+                .build();
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys.add("replica-" + i);
+            targets.put(replicaKeys.get(i), replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    // Called when a transaction first touches the database, so the read-only flag is already set
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+
+        if (PRIMARY_SCOPE.get() != null) {
+            pinnedRoutes.increment();
+            return PRIMARY;
+        }
+
+        String username = currentUsername();
+        if (username != null && recentWriters.getIfPresent(username) != null) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+        replicaRoutes.increment();
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("replicas", replicaKeys.size());
+        result.put("stickySeconds", stickySeconds);
+        result.put("primaryRoutes", primaryRoutes.sum());
+        result.put("replicaRoutes", replicaRoutes.sum());
+        result.put("stickyRoutes", stickyRoutes.sum());
+        result.put("pinnedRoutes", pinnedRoutes.sum());
+        result.put("stickyUsers", recentWriters.estimatedSize());
+        return result;
+    }
+
+    // Runs the work with its reads on the primary. Routing happens when a transaction first touches the
+    // database, so the scope has to be entered before that: around the transaction, or inside one that
+    // has not run a statement yet. A no-op when routing is disabled.
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PRIMARY_SCOPE.get() != null)
+            return work.get();
+        PRIMARY_SCOPE.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_SCOPE.remove();
+        }
+    }
+
+    // Carries the submitting thread's primary scope over to a task run on another thread
+    public static Runnable inheritScope(Runnable task) {
+        if (PRIMARY_SCOPE.get() == null)
+            return task;
+        return () -> onPrimary(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // Keeps the owners of data written in this transaction on the primary, whoever wrote it
+    public void recordWritesOnCommit(Collection<String> usernames) {
+        if (!usernames.isEmpty())
+            registerAfterCommit(List.copyOf(usernames));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private void recordWriteOnCommit() {
+        String username = currentUsername();
+        if (username != null)
+            registerAfterCommit(List.of(username));
+    }
+
+    private void registerAfterCommit(List<String> usernames) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                usernames.forEach(username -> recentWriters.put(username, Boolean.TRUE));
+            }
+        });
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken)
+            return null;
+        return authentication.getName();
+    }
+}
@@ -1,5 +1,6 @@
 package com.wellnest.config;
 
+import com.wellnest.dto.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +23,9 @@ public class WebSecurityConfig {
     @Autowired
     private AuthTokenFilter authTokenFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -39,6 +43,7 @@ public class WebSecurityConfig {
             corsConfiguration.setAllowedOrigins(java.util.List.of("*"));
             corsConfiguration.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
             corsConfiguration.setAllowedHeaders(java.util.List.of("*"));
+            corsConfiguration.setExposedHeaders(java.util.List.of(CursorPage.NEXT_CURSOR_HEADER));
             return corsConfiguration;
         })).csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -51,6 +56,7 @@ public class WebSecurityConfig {
                         .anyRequest().authenticated());
 
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -1,6 +1,11 @@
 package com.wellnest.controller;
 
+import com.wellnest.config.RateLimiter;
+import com.wellnest.config.ReplicaRoutingDataSource;
 import com.wellnest.service.AdminService;
+import com.wellnest.service.DashboardCache;
+import com.wellnest.service.EntityCacheStats;
+import com.wellnest.service.PasswordVerifier;
 import com.wellnest.service.TipService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +24,27 @@ public class AdminController {
     @Autowired
     private TipService tipService;
 
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private EntityCacheStats entityCacheStats;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // Only present when wellnest.datasource.routing.enabled is set
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsersByRole("USER"));
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return adminService.getAllUsersByRole("USER", cursor, limit).toResponse();
     }
 
     @DeleteMapping("/users/{id}")
@@ -32,6 +54,13 @@ public class AdminController {
         return ResponseEntity.ok(Map.of("message", "User deleted successfully"));
     }
 
+    @PostMapping("/users/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeTokens(@PathVariable Long id) {
+        adminService.revokeTokens(id);
+        return ResponseEntity.ok(Map.of("message", "Tokens revoked successfully"));
+    }
+
     @PostMapping("/assign")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> assignTrainer(@RequestParam Long trainerId, @RequestParam Long userId) {
@@ -41,8 +70,9 @@ public class AdminController {
 
     @GetMapping("/trainers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllTrainers() {
-        return ResponseEntity.ok(adminService.getAllUsersByRole("TRAINER"));
+    public ResponseEntity<?> getAllTrainers(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return adminService.getAllUsersByRole("TRAINER", cursor, limit).toResponse();
     }
 
     @PostMapping("/tips")
@@ -60,7 +90,40 @@ public class AdminController {
 
     @GetMapping("/tips")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllTips() {
-        return ResponseEntity.ok(tipService.getAllTips());
+    public ResponseEntity<?> getAllTips(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return tipService.getAllTips(cursor, limit).toResponse();
+    }
+
+    @GetMapping("/dashboard-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDashboardCacheStats() {
+        return ResponseEntity.ok(dashboardCache.getStats());
+    }
+
+    @GetMapping("/entity-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getEntityCacheStats() {
+        return ResponseEntity.ok(entityCacheStats.getStats());
+    }
+
+    @GetMapping("/password-verifier/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPasswordVerifierStats() {
+        return ResponseEntity.ok(passwordVerifier.getStats());
+    }
+
+    @GetMapping("/rate-limit/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStats());
+    }
+
+    @GetMapping("/datasource/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDataSourceStats() {
+        if (replicaRoutingDataSource == null)
+            return ResponseEntity.ok(Map.of("routingEnabled", false));
+        return ResponseEntity.ok(replicaRoutingDataSource.getStats());
     }
 }
@@ -1,13 +1,17 @@
 package com.wellnest.controller;
 
+import com.wellnest.dto.AvailabilityDTO;
 import com.wellnest.dto.LoginRequest;
 import com.wellnest.dto.LoginResponse;
+import com.wellnest.dto.RefreshTokenRequest;
 import com.wellnest.dto.RegisterRequest;
 import com.wellnest.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -18,8 +22,32 @@ public class AuthController {
     private AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        return ResponseEntity.ok(authService.login(loginRequest));
+    public CompletableFuture<ResponseEntity<LoginResponse>> authenticateUser(
+            @Valid @RequestBody LoginRequest loginRequest) {
+        // Completes on the login executor, so the request thread is released while BCrypt runs
+        return authService.login(loginRequest).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(java.util.Map.of("message", "Logged out successfully"));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityDTO> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(authService.checkAvailability(username, email));
     }
 
     @PostMapping("/register")
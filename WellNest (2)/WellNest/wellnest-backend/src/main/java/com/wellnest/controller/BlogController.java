@@ -17,8 +17,9 @@ public class BlogController {
     private BlogService blogService;
 
     @GetMapping
-    public ResponseEntity<?> getAllPosts() {
-        return ResponseEntity.ok(blogService.getAllPosts());
+    public ResponseEntity<?> getAllPosts(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return blogService.getAllPosts(cursor, limit).toResponse();
     }
 
     @PostMapping
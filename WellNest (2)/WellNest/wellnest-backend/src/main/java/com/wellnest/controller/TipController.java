@@ -33,8 +33,9 @@ public class TipController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<?> getAllTips() {
-        return ResponseEntity.ok(tipService.getAllTips());
+    public ResponseEntity<?> getAllTips(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return tipService.getAllTips(cursor, limit).toResponse();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
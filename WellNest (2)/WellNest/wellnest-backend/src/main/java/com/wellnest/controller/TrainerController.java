@@ -1,5 +1,7 @@
 package com.wellnest.controller;
 
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.dto.DashboardSection;
 import com.wellnest.dto.TrainerProfileDTO;
 import com.wellnest.dto.WeeklyPlanRequest;
 import com.wellnest.service.TrainerService;
@@ -11,6 +13,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -79,8 +82,23 @@ public class TrainerController {
     public ResponseEntity<?> getAthleteDashboardStats(
             @PathVariable Long userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(trainerService.getAthleteDashboardStats(userId, startDate, endDate));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String sections,
+            @RequestParam(required = false) String granularity) {
+        return ResponseEntity.ok(trainerService.getAthleteDashboardStats(userId, startDate, endDate,
+                DashboardSection.parse(sections), DashboardGranularity.parse(granularity)));
+    }
+
+    @GetMapping("/users/dashboard-stats")
+    public ResponseEntity<?> getAthletesDashboardStats(
+            @RequestParam(required = false) List<Long> userIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String sections,
+            @RequestParam(required = false) String granularity,
+            Authentication authentication) {
+        return ResponseEntity.ok(trainerService.getAthletesDashboardStats(authentication.getName(), userIds,
+                startDate, endDate, DashboardSection.parse(sections), DashboardGranularity.parse(granularity)));
     }
 
     @GetMapping("/stats")
@@ -1,18 +1,26 @@
 package com.wellnest.controller;
 
+import com.wellnest.config.ReplicaRoutingDataSource;
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.dto.DashboardSection;
 import com.wellnest.dto.UserProfileDTO;
 import com.wellnest.dto.SleepMoodDTO;
 import com.wellnest.dto.NutritionLogDTO;
 import com.wellnest.dto.WorkoutResponseDTO;
+import com.wellnest.service.DailyStatsExportService;
+import com.wellnest.service.DataVersionService;
 import com.wellnest.service.UserService;
 import com.wellnest.service.TrainerService;
 import com.wellnest.service.TipService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.Map;
@@ -28,6 +36,12 @@ public class UserController {
     @Autowired
     private TrainerService trainerService;
 
+    @Autowired
+    private DailyStatsExportService dailyStatsExportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Autowired
     private TipService tipService;
 
@@ -64,8 +78,11 @@ public class UserController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
-        return ResponseEntity.ok(userService.getNutritionLogs(authentication.getName(), date, startDate, endDate));
+        return userService.getNutritionLogs(authentication.getName(), date, startDate, endDate, cursor, limit)
+                .toResponse();
     }
 
     @PostMapping("/nutrition-log")
@@ -78,8 +95,12 @@ public class UserController {
     @GetMapping("/nutrition")
     public ResponseEntity<?> getNutrition(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            Authentication authentication) {
-        return ResponseEntity.ok(userService.getNutritionByDate(authentication.getName(), date));
+            Authentication authentication, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(authentication.getName(), "nutrition", date)))
+            return null;
+        // Read from the primary like the tag, so a lagging replica is never served under a newer one
+        return ResponseEntity.ok(ReplicaRoutingDataSource.onPrimary(
+                () -> userService.getNutritionByDate(authentication.getName(), date)));
     }
 
     @DeleteMapping("/nutrition-logs/{id}")
@@ -93,8 +114,11 @@ public class UserController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
-        return ResponseEntity.ok(userService.getSleepMood(authentication.getName(), date, startDate, endDate));
+        return userService.getSleepMood(authentication.getName(), date, startDate, endDate, cursor, limit)
+                .toResponse();
     }
 
     @PostMapping("/sleep-mood")
@@ -115,8 +139,11 @@ public class UserController {
     }
 
     @GetMapping("/weekly-plan")
-    public ResponseEntity<?> getWeeklyPlan(Authentication authentication) {
-        return ResponseEntity.ok(userService.getLatestWeeklyPlan(authentication.getName()));
+    public ResponseEntity<?> getWeeklyPlan(Authentication authentication, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(authentication.getName(), "weekly-plan")))
+            return null;
+        return ResponseEntity.ok(ReplicaRoutingDataSource.onPrimary(
+                () -> userService.getLatestWeeklyPlan(authentication.getName())));
     }
 
     @PutMapping("/workout/{workoutId}/complete")
@@ -137,16 +164,37 @@ public class UserController {
     public ResponseEntity<?> getDashboardSummary(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
-        return ResponseEntity.ok(userService.getDashboardSummary(authentication.getName(), startDate, endDate));
+            @RequestParam(required = false) String sections,
+            @RequestParam(required = false) String granularity,
+            Authentication authentication, WebRequest webRequest) {
+        if (notModifiedDashboard(authentication.getName(), startDate, endDate, sections, granularity, webRequest))
+            return null;
+        return ResponseEntity.ok(userService.getDashboardSummary(authentication.getName(), startDate, endDate,
+                DashboardSection.parse(sections), DashboardGranularity.parse(granularity)));
     }
 
     @GetMapping("/dashboard")
     public ResponseEntity<?> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String sections,
+            @RequestParam(required = false) String granularity,
+            Authentication authentication, WebRequest webRequest) {
+        if (notModifiedDashboard(authentication.getName(), startDate, endDate, sections, granularity, webRequest))
+            return null;
+        return ResponseEntity.ok(userService.getDashboardSummary(authentication.getName(), startDate, endDate,
+                DashboardSection.parse(sections), DashboardGranularity.parse(granularity)));
+    }
+
+    @GetMapping(value = "/dashboard/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportDailyStats(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             Authentication authentication) {
-        return ResponseEntity.ok(userService.getDashboardSummary(authentication.getName(), startDate, endDate));
+        String username = authentication.getName();
+        StreamingResponseBody body = out -> dailyStatsExportService.writeDailyStats(username, startDate, endDate,
+                out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     @GetMapping("/trainer-suggestions")
@@ -165,4 +213,11 @@ public class UserController {
     public ResponseEntity<?> getRandomTip() {
         return ResponseEntity.ok(tipService.getRandomActiveTip());
     }
+
+    // Today is part of the tag: default ranges and the visible streak move with the date
+    private boolean notModifiedDashboard(String username, LocalDate startDate, LocalDate endDate, String sections,
+            String granularity, WebRequest webRequest) {
+        return webRequest.checkNotModified(dataVersionService.etag(username, "dashboard", LocalDate.now(), startDate,
+                endDate, DashboardSection.parse(sections), DashboardGranularity.parse(granularity)));
+    }
 }
@@ -0,0 +1,5 @@
+package com.wellnest.dto;
+
+// A field is null when it was not part of the request
+public record AvailabilityDTO(Boolean usernameAvailable, Boolean emailAvailable) {
+}
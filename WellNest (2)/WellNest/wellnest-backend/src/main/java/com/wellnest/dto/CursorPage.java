@@ -0,0 +1,17 @@
+package com.wellnest.dto;
+
+import org.springframework.http.ResponseEntity;
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // The body stays a plain array; the cursor for the following page, if there is one, goes in a header
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null)
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        return response.body(items);
+    }
+}
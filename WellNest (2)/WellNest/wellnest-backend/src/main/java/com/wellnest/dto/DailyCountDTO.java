@@ -0,0 +1,6 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record DailyCountDTO(LocalDate date, long count) {
+}
@@ -0,0 +1,6 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record DailyNutritionDTO(LocalDate date, Double caloriesConsumed, Double waterIntake, Integer steps) {
+}
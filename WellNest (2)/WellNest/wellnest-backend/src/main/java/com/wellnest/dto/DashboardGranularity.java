@@ -0,0 +1,36 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum DashboardGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    AUTO;
+
+    // Upper bound on chart points when AUTO picks the resolution
+    public static final int AUTO_MAX_POINTS = 100;
+
+    public static DashboardGranularity parse(String granularity) {
+        if (granularity == null || granularity.isBlank())
+            return DAY;
+        try {
+            return valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown dashboard granularity: " + granularity.trim());
+        }
+    }
+
+    // Turns AUTO into the finest of DAY, WEEK or MONTH that stays within AUTO_MAX_POINTS
+    public DashboardGranularity resolve(LocalDate startDate, LocalDate endDate) {
+        if (this != AUTO)
+            return this;
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days <= AUTO_MAX_POINTS)
+            return DAY;
+        if ((days + 6) / 7 + 1 <= AUTO_MAX_POINTS)
+            return WEEK;
+        return MONTH;
+    }
+}
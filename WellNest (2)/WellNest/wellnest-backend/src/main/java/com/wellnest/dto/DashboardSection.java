@@ -0,0 +1,36 @@
+package com.wellnest.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum DashboardSection {
+    WORKOUTS,
+    STREAK,
+    SLEEP,
+    NUTRITION,
+    TARGETS,
+    TRAINER,
+    DAILY_STATS;
+
+    public static final Set<DashboardSection> ALL = Collections.unmodifiableSet(EnumSet.allOf(DashboardSection.class));
+
+    // Parses a comma-separated list such as "streak,nutrition" or "dailyStats"; blank means every section
+    public static Set<DashboardSection> parse(String sections) {
+        if (sections == null || sections.isBlank())
+            return ALL;
+
+        EnumSet<DashboardSection> result = EnumSet.noneOf(DashboardSection.class);
+        for (String name : sections.split(",")) {
+            String normalized = name.trim().replaceAll("([a-z])([A-Z])", "$1_$2").replace('-', '_');
+            if (normalized.isEmpty())
+                continue;
+            try {
+                result.add(valueOf(normalized.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown dashboard section: " + name.trim());
+            }
+        }
+        return result.isEmpty() ? ALL : Collections.unmodifiableSet(result);
+    }
+}
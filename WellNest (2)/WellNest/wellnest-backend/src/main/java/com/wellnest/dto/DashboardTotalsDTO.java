@@ -0,0 +1,17 @@
+package com.wellnest.dto;
+
+public record DashboardTotalsDTO(
+        long workoutsAssigned,
+        long workoutsCompleted,
+        long adHocWorkouts,
+        long nutritionLogs,
+        double caloriesConsumed,
+        double proteinConsumed,
+        double carbsConsumed,
+        double fatsConsumed,
+        double waterIntake,
+        long steps,
+        Double avgSleep,
+        Double latestSleep,
+        String latestMood) {
+}
@@ -0,0 +1,7 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record NutritionLogRowDTO(Long id, Double caloriesConsumed, Double proteinConsumed, Double carbsConsumed,
+        Double fatsConsumed, Double waterIntake, Integer steps, Integer stepsTarget, LocalDate nutritionDate) {
+}
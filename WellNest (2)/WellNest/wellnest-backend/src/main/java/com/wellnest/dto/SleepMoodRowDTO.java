@@ -0,0 +1,6 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record SleepMoodRowDTO(Long id, Double sleepHours, String mood, Integer stressLevel, LocalDate date) {
+}
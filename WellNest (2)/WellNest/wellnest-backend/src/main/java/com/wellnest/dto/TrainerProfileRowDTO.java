@@ -0,0 +1,5 @@
+package com.wellnest.dto;
+
+public record TrainerProfileRowDTO(Long id, String username, String specialization, Integer experienceYears,
+        Integer availableHoursPerDay) {
+}
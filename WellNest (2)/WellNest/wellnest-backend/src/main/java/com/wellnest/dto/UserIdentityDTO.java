@@ -0,0 +1,4 @@
+package com.wellnest.dto;
+
+public record UserIdentityDTO(String username, String email) {
+}
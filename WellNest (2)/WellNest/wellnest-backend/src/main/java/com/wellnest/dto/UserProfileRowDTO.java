@@ -0,0 +1,8 @@
+package com.wellnest.dto;
+
+import com.wellnest.entity.Role;
+
+// Profile columns are null for users who never filled in a profile
+public record UserProfileRowDTO(Long id, String username, Role role, String fullName, Integer age, String gender,
+        Double height, Double weight, String fitnessGoal, String medicalNotes) {
+}
@@ -0,0 +1,7 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record WorkoutLogRowDTO(Long id, String name, Integer durationMinutes, Integer caloriesBurned, LocalDate date,
+        String category) {
+}
@@ -0,0 +1,7 @@
+package com.wellnest.dto;
+
+import java.time.LocalDate;
+
+public record WorkoutPlanRowDTO(Long id, String workoutName, Integer sets, Integer reps, String duration,
+        boolean completed, LocalDate workoutDate) {
+}
@@ -0,0 +1,55 @@
+package com.wellnest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_user_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "statsDate" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyUserStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    private LocalDate statsDate;
+
+    private boolean nutritionLogged;
+    private double caloriesConsumed;
+    private double proteinConsumed;
+    private double carbsConsumed;
+    private double fatsConsumed;
+    private double waterIntake;
+    private int steps;
+
+    private boolean sleepLogged;
+    private double sleepHours;
+    private String mood;
+
+    private int workoutsAssigned;
+    private int workoutsCompleted;
+    private int adHocWorkouts;
+
+    private double caloriesTarget;
+    private double proteinTarget;
+    private double carbsTarget;
+    private double fatsTarget;
+    private double waterTarget;
+    private int stepsTarget;
+}
@@ -9,13 +9,19 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_nutrition_assignment_plan_date", columnList = "weekly_plan_id, nutritionDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class NutritionAssignment {
+    // Pooled table ids for batched inserts, as in WorkoutPlan
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "nutrition_assignment_ids")
+    @TableGenerator(name = "nutrition_assignment_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "nutrition_assignment", allocationSize = 50)
     private Long id;
 
     private Double caloriesTarget;
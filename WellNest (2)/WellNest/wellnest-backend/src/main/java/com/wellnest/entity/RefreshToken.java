@@ -0,0 +1,55 @@
+package com.wellnest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "tokenHash" })
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_user_expiry", columnList = "user_id, expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    // SHA-256 of the token; the token itself is only ever held by the client
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    // Every rotation of one login shares a family, so reuse of an old token can revoke the chain
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    // User.tokenVersion at issue time; revoking a user's tokens also retires their refresh tokens
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
@@ -1,10 +1,16 @@
 package com.wellnest.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDate;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -18,12 +24,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false)
     private String username;
 
@@ -41,28 +50,39 @@ public class User {
     @JoinColumn(name = "trainer_id")
     private User assignedTrainer;
 
+    // Advanced only by StreakService's conditional update; entity saves never overwrite them
     @Builder.Default
+    @Column(updatable = false)
     private Integer currentStreak = 0;
 
+    @Column(updatable = false)
     private LocalDate lastActivityDate;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    @JsonIgnore
-    private UserProfile userProfile;
+    // Bumped by DataVersionService on every write to this user's data; entity saves never overwrite it
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private long dataVersion = 0;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    @JsonIgnore
-    private TrainerProfile trainerProfile;
+    // Carried in issued tokens; bumping it through TokenVersionService revokes all of them
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private long tokenVersion = 0;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<Assignment> userAssignments;
 
     @OneToMany(mappedBy = "trainer", cascade = CascadeType.ALL)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<Assignment> trainerAssignments;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<Workout> workouts;
 }
@@ -3,13 +3,18 @@ package com.wellnest.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_weekly_plan_user_week", columnList = "user_id, weekStartDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,9 +35,13 @@ public class WeeklyPlan {
 	private LocalDate weekStartDate;
 	private boolean locked = false;
 
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
 	@OneToMany(mappedBy = "weeklyPlan", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<WorkoutPlan> workouts = new ArrayList<>();
 
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
 	@OneToMany(mappedBy = "weeklyPlan", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<NutritionAssignment> nutritionAssignments = new ArrayList<>();
 }
@@ -8,6 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_workout_user_date", columnList = "user_id, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -9,14 +9,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_workout_plan_user_date_completed", columnList = "user_id, workoutDate, completed"),
+        @Index(name = "idx_workout_plan_weekly_plan_date", columnList = "weekly_plan_id, workoutDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class WorkoutPlan {
 
+	// Ids come from a pooled table generator so a week's rows can be inserted as one JDBC batch;
+	// IDENTITY forces Hibernate to insert each row on its own to read the key back
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "workout_plan_ids")
+	@TableGenerator(name = "workout_plan_ids", table = "id_generators", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "workout_plan", allocationSize = 50)
 	private Long id;
 
 	private String workoutName;
@@ -1,9 +1,15 @@
 package com.wellnest.repository;
 
 import com.wellnest.entity.BlogPost;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 
 @Repository
 public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+    // Newest first, authors joined in the same statement
+    @EntityGraph(attributePaths = "author")
+    List<BlogPost> findByIdLessThanOrderByIdDesc(Long beforeId, Limit limit);
 }
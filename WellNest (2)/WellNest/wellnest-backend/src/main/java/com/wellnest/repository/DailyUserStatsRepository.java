@@ -0,0 +1,89 @@
+package com.wellnest.repository;
+
+import com.wellnest.entity.DailyUserStats;
+import com.wellnest.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+@Repository
+public interface DailyUserStatsRepository extends JpaRepository<DailyUserStats, Long> {
+    Optional<DailyUserStats> findByUserAndStatsDate(User user, LocalDate statsDate);
+
+    List<DailyUserStats> findByUserAndStatsDateBetweenOrderByStatsDateAsc(User user, LocalDate startDate,
+            LocalDate endDate);
+
+    List<DailyUserStats> findByUserInAndStatsDateBetweenOrderByStatsDateAsc(Collection<User> users,
+            LocalDate startDate, LocalDate endDate);
+
+    // Recomputes the day's row from the source tables and creates or overwrites it in one statement. On InnoDB
+    // the select part of an insert ... select takes locking reads, so it sees the latest committed source rows
+    // rather than the transaction's snapshot, and the unique key turns a concurrent first write into an update.
+    // Pending entity changes are flushed first because the select reads tables this session may have written.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_user_stats"))
+    @Query(value = """
+            insert into daily_user_stats (user_id, stats_date, nutrition_logged, calories_consumed, protein_consumed,
+                carbs_consumed, fats_consumed, water_intake, steps, sleep_logged, sleep_hours, mood, workouts_assigned,
+                workouts_completed, ad_hoc_workouts, calories_target, protein_target, carbs_target, fats_target,
+                water_target, steps_target)
+            select u.id, :date,
+                n.id is not null, coalesce(n.calories_consumed, 0), coalesce(n.protein_consumed, 0),
+                coalesce(n.carbs_consumed, 0), coalesce(n.fats_consumed, 0), coalesce(n.water_intake, 0),
+                coalesce(n.steps, 0),
+                s.id is not null, coalesce(s.sleep_hours, 0), s.mood,
+                (select count(*) from workout_plan wp where wp.user_id = u.id and wp.workout_date = :date),
+                (select count(*) from workout_plan wp
+                    where wp.user_id = u.id and wp.workout_date = :date and wp.completed = true),
+                (select count(*) from workout w where w.user_id = u.id and w.date = :date),
+                case when t.id is null then :caloriesTarget else coalesce(t.calories_target, 0) end,
+                case when t.id is null then :proteinTarget else coalesce(t.protein_target, 0) end,
+                case when t.id is null then :carbsTarget else coalesce(t.carbs_target, 0) end,
+                case when t.id is null then :fatsTarget else coalesce(t.fats_target, 0) end,
+                :waterTarget, :stepsTarget
+            from users u
+            left join nutrition_logs n on n.user_id = u.id and n.nutrition_date = :date
+            left join user_profiles p on p.user_id = u.id
+            left join sleep_mood s on s.profile_id = p.id and s.date = :date
+            left join nutrition_assignment t on t.id = (
+                select min(na.id) from nutrition_assignment na join weekly_plan wk on wk.id = na.weekly_plan_id
+                where wk.user_id = u.id and na.nutrition_date = :date)
+            where u.id = :userId
+            on duplicate key update
+                nutrition_logged = values(nutrition_logged),
+                calories_consumed = values(calories_consumed),
+                protein_consumed = values(protein_consumed),
+                carbs_consumed = values(carbs_consumed),
+                fats_consumed = values(fats_consumed),
+                water_intake = values(water_intake),
+                steps = values(steps),
+                sleep_logged = values(sleep_logged),
+                sleep_hours = values(sleep_hours),
+                mood = values(mood),
+                workouts_assigned = values(workouts_assigned),
+                workouts_completed = values(workouts_completed),
+                ad_hoc_workouts = values(ad_hoc_workouts),
+                calories_target = values(calories_target),
+                protein_target = values(protein_target),
+                carbs_target = values(carbs_target),
+                fats_target = values(fats_target),
+                water_target = values(water_target),
+                steps_target = values(steps_target)
+            """, nativeQuery = true)
+    void refresh(@Param("userId") Long userId, @Param("date") LocalDate date,
+            @Param("caloriesTarget") double caloriesTarget, @Param("proteinTarget") double proteinTarget,
+            @Param("carbsTarget") double carbsTarget, @Param("fatsTarget") double fatsTarget,
+            @Param("waterTarget") double waterTarget, @Param("stepsTarget") int stepsTarget);
+
+    @Query("select min(d.statsDate) from DailyUserStats d where d.user = :user")
+    Optional<LocalDate> findFirstStatsDate(@Param("user") User user);
+}
@@ -3,6 +3,8 @@ package com.wellnest.repository;
 import com.wellnest.entity.NutritionAssignment;
 import com.wellnest.entity.WeeklyPlan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
@@ -23,4 +25,7 @@ public interface NutritionAssignmentRepository extends JpaRepository<NutritionAs
     @EntityGraph(attributePaths = { "weeklyPlan" })
     List<NutritionAssignment> findByWeeklyPlan_UserAndNutritionDateBetween(com.wellnest.entity.User user,
             LocalDate startDate, LocalDate endDate);
+
+    @Query("select distinct n.nutritionDate from NutritionAssignment n where n.weeklyPlan.user = :user")
+    List<LocalDate> findDatesByUser(@Param("user") com.wellnest.entity.User user);
 }
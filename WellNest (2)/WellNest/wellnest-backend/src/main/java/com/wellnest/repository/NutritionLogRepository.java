@@ -1,12 +1,22 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.DailyNutritionDTO;
+import com.wellnest.dto.NutritionLogRowDTO;
 import com.wellnest.entity.NutritionLog;
 import com.wellnest.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface NutritionLogRepository extends JpaRepository<NutritionLog, Long> {
@@ -17,4 +27,69 @@ public interface NutritionLogRepository extends JpaRepository<NutritionLog, Long
     boolean existsByUserAndNutritionDate(User user, LocalDate nutritionDate);
 
     List<NutritionLog> findByUserAndNutritionDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    // Creates or merges the day's log in one statement, so two devices logging the same day cannot both try the
+    // insert. Null values leave the stored ones alone; steps_target is only set when the row is created.
+    // The 0.0 defaults keep the parameters typed as doubles; an integer 0 lets H2 round them.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "nutrition_logs"))
+    @Query(value = """
+            insert into nutrition_logs (user_id, nutrition_date, calories_consumed, protein_consumed, carbs_consumed,
+                fats_consumed, water_intake, steps, steps_target)
+            values (:userId, :date, coalesce(:calories, 0.0), coalesce(:protein, 0.0), coalesce(:carbs, 0.0),
+                coalesce(:fats, 0.0), coalesce(:water, 0.0), coalesce(:steps, 0), coalesce(:stepsTarget, 10000))
+            on duplicate key update
+                calories_consumed = coalesce(:calories, calories_consumed),
+                protein_consumed = coalesce(:protein, protein_consumed),
+                carbs_consumed = coalesce(:carbs, carbs_consumed),
+                fats_consumed = coalesce(:fats, fats_consumed),
+                water_intake = coalesce(:water, water_intake),
+                steps = coalesce(:steps, steps)
+            """, nativeQuery = true)
+    void upsert(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("calories") Double calories,
+            @Param("protein") Double protein, @Param("carbs") Double carbs, @Param("fats") Double fats,
+            @Param("water") Double water, @Param("steps") Integer steps, @Param("stepsTarget") Integer stepsTarget);
+
+    // Newest first. A user has at most one log per date, so the date alone is the keyset and the
+    // (user_id, nutrition_date) unique key serves both the seek and the order
+    @Query("""
+            select new com.wellnest.dto.NutritionLogRowDTO(n.id, n.caloriesConsumed, n.proteinConsumed,
+                n.carbsConsumed, n.fatsConsumed, n.waterIntake, n.steps, n.stepsTarget, n.nutritionDate)
+            from NutritionLog n
+            where n.user = :user
+            order by n.nutritionDate desc
+            """)
+    List<NutritionLogRowDTO> findLatestRowsByUser(@Param("user") User user, Limit limit);
+
+    @Query("""
+            select new com.wellnest.dto.NutritionLogRowDTO(n.id, n.caloriesConsumed, n.proteinConsumed,
+                n.carbsConsumed, n.fatsConsumed, n.waterIntake, n.steps, n.stepsTarget, n.nutritionDate)
+            from NutritionLog n
+            where n.user = :user and n.nutritionDate < :before
+            order by n.nutritionDate desc
+            """)
+    List<NutritionLogRowDTO> findRowsByUserBefore(@Param("user") User user, @Param("before") LocalDate before,
+            Limit limit);
+
+    @Query("""
+            select new com.wellnest.dto.NutritionLogRowDTO(n.id, n.caloriesConsumed, n.proteinConsumed,
+                n.carbsConsumed, n.fatsConsumed, n.waterIntake, n.steps, n.stepsTarget, n.nutritionDate)
+            from NutritionLog n
+            where n.user = :user and n.nutritionDate between :startDate and :endDate
+            """)
+    List<NutritionLogRowDTO> findRowsByUserAndNutritionDateBetween(@Param("user") User user,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select distinct n.nutritionDate from NutritionLog n where n.user = :user")
+    List<LocalDate> findDatesByUser(@Param("user") User user);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.wellnest.dto.DailyNutritionDTO(n.nutritionDate, n.caloriesConsumed, n.waterIntake, n.steps)
+            from NutritionLog n
+            where n.user = :user and n.nutritionDate between :startDate and :endDate
+            order by n.nutritionDate
+            """)
+    Stream<DailyNutritionDTO> streamDailyNutrition(@Param("user") User user, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
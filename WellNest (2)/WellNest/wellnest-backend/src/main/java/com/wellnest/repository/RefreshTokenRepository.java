@@ -0,0 +1,32 @@
+package com.wellnest.repository;
+
+import com.wellnest.entity.RefreshToken;
+import com.wellnest.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @EntityGraph(attributePaths = { "user" })
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Succeeds for exactly one caller, so two concurrent refreshes cannot both rotate the same token
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.id = :id and t.revoked = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.user = :user and t.expiresAt < :now")
+    int deleteExpired(@Param("user") User user, @Param("now") Instant now);
+}
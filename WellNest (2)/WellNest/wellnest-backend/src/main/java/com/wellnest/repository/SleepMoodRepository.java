@@ -1,10 +1,21 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.DailySleepDTO;
+import com.wellnest.dto.SleepMoodRowDTO;
 import com.wellnest.entity.SleepMood;
+import com.wellnest.entity.User;
 import com.wellnest.entity.UserProfile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,5 +26,59 @@ public interface SleepMoodRepository extends JpaRepository<SleepMood, Long> {
 
     List<SleepMood> findByProfileAndDateBetween(UserProfile profile, LocalDate start, LocalDate end);
 
+    // Same single-statement create-or-merge as NutritionLogRepository.upsert, keyed on (profile_id, date)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sleep_mood"))
+    @Query(value = """
+            insert into sleep_mood (profile_id, date, sleep_hours, mood, stress_level)
+            values (:profileId, :date, :sleepHours, :mood, :stressLevel)
+            on duplicate key update
+                sleep_hours = coalesce(:sleepHours, sleep_hours),
+                mood = coalesce(:mood, mood),
+                stress_level = coalesce(:stressLevel, stress_level)
+            """, nativeQuery = true)
+    void upsert(@Param("profileId") Long profileId, @Param("date") LocalDate date,
+            @Param("sleepHours") Double sleepHours, @Param("mood") String mood,
+            @Param("stressLevel") Integer stressLevel);
+
+    // Newest first, keyed on the date alone: (profile_id, date) is unique
+    @Query("""
+            select new com.wellnest.dto.SleepMoodRowDTO(s.id, s.sleepHours, s.mood, s.stressLevel, s.date)
+            from SleepMood s
+            where s.profile = :profile
+            order by s.date desc
+            """)
+    List<SleepMoodRowDTO> findLatestRowsByProfile(@Param("profile") UserProfile profile, Limit limit);
+
+    @Query("""
+            select new com.wellnest.dto.SleepMoodRowDTO(s.id, s.sleepHours, s.mood, s.stressLevel, s.date)
+            from SleepMood s
+            where s.profile = :profile and s.date < :before
+            order by s.date desc
+            """)
+    List<SleepMoodRowDTO> findRowsByProfileBefore(@Param("profile") UserProfile profile,
+            @Param("before") LocalDate before, Limit limit);
+
+    @Query("""
+            select new com.wellnest.dto.SleepMoodRowDTO(s.id, s.sleepHours, s.mood, s.stressLevel, s.date)
+            from SleepMood s
+            where s.profile = :profile and s.date between :start and :end
+            """)
+    List<SleepMoodRowDTO> findRowsByProfileAndDateBetween(@Param("profile") UserProfile profile,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
     boolean existsByProfileAndDate(UserProfile profile, LocalDate date);
+
+    @Query("select distinct s.date from SleepMood s where s.profile.user = :user")
+    List<LocalDate> findDatesByUser(@Param("user") User user);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.wellnest.dto.DailySleepDTO(s.date, s.sleepHours)
+            from SleepMood s
+            where s.profile.user = :user and s.date between :startDate and :endDate
+            order by s.date
+            """)
+    Stream<DailySleepDTO> streamDailySleep(@Param("user") User user, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
@@ -1,11 +1,20 @@
 package com.wellnest.repository;
 
 import com.wellnest.entity.Tip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface TipRepository extends JpaRepository<Tip, Long> {
+    // Cached until any tip is written
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "active-tips") })
     List<Tip> findByActiveTrue();
+
+    List<Tip> findByIdGreaterThanOrderById(Long afterId, Limit limit);
 }
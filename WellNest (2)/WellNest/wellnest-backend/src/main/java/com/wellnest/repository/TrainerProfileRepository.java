@@ -1,12 +1,31 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.TrainerProfileRowDTO;
 import com.wellnest.entity.TrainerProfile;
 import com.wellnest.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface TrainerProfileRepository extends JpaRepository<TrainerProfile, Long> {
+    // Cached until any trainer profile is written; the profile itself comes from its entity region
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "profiles-by-user") })
     Optional<TrainerProfile> findByUser(User user);
 
     Optional<TrainerProfile> findByUserId(Long userId);
+
+    // Trainers whose specialization contains the goal, ignoring case; those without one match any goal
+    @Query("""
+            select new com.wellnest.dto.TrainerProfileRowDTO(u.id, u.username, t.specialization, t.experienceYears,
+                t.availableHoursPerDay)
+            from TrainerProfile t join t.user u
+            where :goal is null or t.specialization is null or locate(lower(:goal), lower(t.specialization)) > 0
+            """)
+    List<TrainerProfileRowDTO> findSuggestionRows(@Param("goal") String goal);
 }
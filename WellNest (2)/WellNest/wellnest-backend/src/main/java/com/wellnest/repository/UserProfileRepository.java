@@ -2,10 +2,16 @@ package com.wellnest.repository;
 
 import com.wellnest.entity.User;
 import com.wellnest.entity.UserProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
+    // Cached until any user profile is written; the profile itself comes from its entity region
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "profiles-by-user") })
     Optional<UserProfile> findByUser(User user);
 
     Optional<UserProfile> findByUserId(Long userId);
@@ -1,17 +1,118 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.DashboardTotalsDTO;
+import com.wellnest.dto.UserIdentityDTO;
+import com.wellnest.dto.UserProfileRowDTO;
 import com.wellnest.entity.User;
 import com.wellnest.entity.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
-
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "userProfile", "trainerProfile" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.wellnest.dto.UserIdentityDTO(u.username, u.email) from User u")
+    Stream<UserIdentityDTO> streamIdentities();
+
+    // Either parameter may be null, in which case it matches nothing
+    @Query("""
+            select new com.wellnest.dto.UserIdentityDTO(u.username, u.email)
+            from User u where u.username = :username or u.email = :email
+            """)
+    List<UserIdentityDTO> findIdentities(@Param("username") String username, @Param("email") String email);
+
     java.util.List<User> findByAssignedTrainer(User trainer);
 
     java.util.List<User> findByRole(Role role);
+
+    @Query("""
+            select new com.wellnest.dto.UserProfileRowDTO(u.id, u.username, u.role, p.fullName, p.age, p.gender,
+                p.height, p.weight, p.fitnessGoal, p.medicalNotes)
+            from User u left join UserProfile p on p.user = u
+            where u.role = :role and u.id > :afterId
+            order by u.id
+            """)
+    List<UserProfileRowDTO> findProfileRowsByRoleAfter(@Param("role") Role role, @Param("afterId") Long afterId,
+            Limit limit);
+
+    // All dashboard totals for a user and range in a single statement
+    @Query("""
+            select new com.wellnest.dto.DashboardTotalsDTO(
+                (select count(wp) from WorkoutPlan wp
+                    where wp.user = u and wp.workoutDate between :startDate and :endDate),
+                (select count(wp) from WorkoutPlan wp
+                    where wp.user = u and wp.workoutDate between :startDate and :endDate and wp.completed = true),
+                (select count(w) from Workout w where w.user = u and w.date between :startDate and :endDate),
+                (select count(n) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.caloriesConsumed), 0.0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.proteinConsumed), 0.0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.carbsConsumed), 0.0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.fatsConsumed), 0.0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.waterIntake), 0.0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select coalesce(sum(n.steps), 0) from NutritionLog n
+                    where n.user = u and n.nutritionDate between :startDate and :endDate),
+                (select avg(coalesce(s.sleepHours, 0.0)) from SleepMood s
+                    where s.profile.user = u and s.date between :startDate and :endDate),
+                (select s.sleepHours from SleepMood s where s.profile.user = u and s.date =
+                    (select max(s2.date) from SleepMood s2
+                        where s2.profile.user = u and s2.date between :startDate and :endDate)),
+                (select s.mood from SleepMood s where s.profile.user = u and s.date =
+                    (select max(s2.date) from SleepMood s2
+                        where s2.profile.user = u and s2.date between :startDate and :endDate)))
+            from User u where u = :user
+            """)
+    DashboardTotalsDTO findDashboardTotals(@Param("user") User user, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("select u.dataVersion from User u where u.username = :username")
+    Optional<Long> findDataVersionByUsername(@Param("username") String username);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    // Counts an activity on date in one statement: the streak grows if the last activity was previousDay and
+    // restarts otherwise. The guard makes repeated or concurrent logs for a day count once and leaves the streak
+    // alone for back-dated logs. current_streak is assigned first because MySQL applies SET left to right.
+    // Native for the same reason as incrementDataVersion; the caller evicts the user's cache entry.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_streaks"))
+    @Query(value = """
+            update users
+            set current_streak = case when last_activity_date = :previousDay
+                    then coalesce(current_streak, 0) + 1 else 1 end,
+                last_activity_date = :date
+            where id = :id and (last_activity_date is null or last_activity_date < :date)
+            """, nativeQuery = true)
+    int advanceStreak(@Param("id") Long id, @Param("date") LocalDate date,
+            @Param("previousDay") LocalDate previousDay);
+
+    // Runs on every write, so it is native with its own query space: an HQL update would evict the whole
+    // users cache region. Nothing reads dataVersion from a cached User, only findDataVersionByUsername.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_data_versions"))
+    @Query(value = "update users set data_version = data_version + 1 where username in (:usernames)",
+            nativeQuery = true)
+    int incrementDataVersion(@Param("usernames") Collection<String> usernames);
 }
@@ -0,0 +1,8 @@
+package com.wellnest.repository;
+
+import com.wellnest.entity.User;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByUsername(String username);
+}
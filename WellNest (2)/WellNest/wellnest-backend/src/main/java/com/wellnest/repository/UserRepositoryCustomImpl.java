@@ -0,0 +1,22 @@
+package com.wellnest.repository;
+
+import com.wellnest.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Resolves through the natural-id and users cache regions, so a warm lookup runs no SQL.
+    // Read-only like the derived finders; outside a transaction the unwrapped session would already be closed.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
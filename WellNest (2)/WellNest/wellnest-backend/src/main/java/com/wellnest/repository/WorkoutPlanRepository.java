@@ -1,11 +1,19 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.DailyCountDTO;
+import com.wellnest.dto.WorkoutPlanRowDTO;
 import com.wellnest.entity.User;
 import com.wellnest.entity.WorkoutPlan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import java.time.LocalDate;
@@ -20,6 +28,15 @@ public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long>
 
     List<WorkoutPlan> findByUserAndWorkoutDateBetween(User user, LocalDate start, LocalDate end);
 
+    @Query("""
+            select new com.wellnest.dto.WorkoutPlanRowDTO(wp.id, wp.workoutName, wp.sets, wp.reps, wp.duration,
+                wp.completed, wp.workoutDate)
+            from WorkoutPlan wp
+            where wp.user = :user and wp.workoutDate between :start and :end
+            """)
+    List<WorkoutPlanRowDTO> findRowsByUserAndWorkoutDateBetween(@Param("user") User user,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
     long countByUserAndWorkoutDateBetween(User user, LocalDate start, LocalDate end);
 
     long countByUserAndWorkoutDateBetweenAndCompleted(User user, LocalDate start, LocalDate end, boolean completed);
@@ -31,4 +48,18 @@ public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long>
     long countByWeeklyPlan_Trainer(User trainer);
 
     long countByWeeklyPlan_TrainerAndCompleted(User trainer, boolean completed);
+
+    @Query("select distinct w.workoutDate from WorkoutPlan w where w.user = :user")
+    List<LocalDate> findDatesByUser(@Param("user") User user);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.wellnest.dto.DailyCountDTO(w.workoutDate, count(w))
+            from WorkoutPlan w
+            where w.user = :user and w.completed = true and w.workoutDate between :startDate and :endDate
+            group by w.workoutDate
+            order by w.workoutDate
+            """)
+    Stream<DailyCountDTO> streamDailyCompletedCounts(@Param("user") User user,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -1,11 +1,19 @@
 package com.wellnest.repository;
 
+import com.wellnest.dto.DailyCountDTO;
+import com.wellnest.dto.WorkoutLogRowDTO;
 import com.wellnest.entity.Workout;
 import com.wellnest.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
@@ -13,5 +21,28 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
 
     List<Workout> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
 
+    @Query("""
+            select new com.wellnest.dto.WorkoutLogRowDTO(w.id, w.name, w.durationMinutes, w.caloriesBurned, w.date,
+                w.category)
+            from Workout w
+            where w.user = :user and w.date between :startDate and :endDate
+            """)
+    List<WorkoutLogRowDTO> findRowsByUserAndDateBetween(@Param("user") User user,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     long countByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    @Query("select distinct w.date from Workout w where w.user = :user")
+    List<LocalDate> findDatesByUser(@Param("user") User user);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.wellnest.dto.DailyCountDTO(w.date, count(w))
+            from Workout w
+            where w.user = :user and w.date between :startDate and :endDate
+            group by w.date
+            order by w.date
+            """)
+    Stream<DailyCountDTO> streamDailyCounts(@Param("user") User user, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
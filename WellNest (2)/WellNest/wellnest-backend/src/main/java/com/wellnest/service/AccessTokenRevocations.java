@@ -0,0 +1,56 @@
+package com.wellnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Access-token ids (jti) revoked before their expiry. Each entry is dropped
+ * when the token it names would have expired anyway, so the set never holds
+ * more than one access-token lifetime's worth of logouts. There is no size
+ * cap: evicting a live entry would make a logged-out token valid again.
+ */
+@Service
+public class AccessTokenRevocations {
+
+    private final Cache<String, Instant> revoked;
+
+    public AccessTokenRevocations() {
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Instant>() {
+                    @Override
+                    public long expireAfterCreate(String jti, Instant expiresAt, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jti, Instant expiresAt, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jti, Instant expiresAt, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti != null && expiresAt.isAfter(Instant.now()))
+            revoked.put(jti, expiresAt);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.getIfPresent(jti) != null;
+    }
+
+    public long size() {
+        return revoked.estimatedSize();
+    }
+}
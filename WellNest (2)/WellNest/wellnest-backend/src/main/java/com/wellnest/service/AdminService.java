@@ -1,10 +1,15 @@
 package com.wellnest.service;
 
+import com.wellnest.dto.CursorPage;
 import com.wellnest.dto.UserProfileDTO;
+import com.wellnest.dto.UserProfileRowDTO;
 import com.wellnest.entity.User;
 import com.wellnest.entity.Role;
+import com.wellnest.repository.TrainerProfileRepository;
+import com.wellnest.repository.UserProfileRepository;
 import com.wellnest.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -18,21 +23,57 @@ public class AdminService {
     private UserRepository userRepository;
 
     @Autowired
-    private UserService userService;
+    private UserProfileRepository userProfileRepository;
 
-    public List<UserProfileDTO> getAllUsersByRole(String role) {
+    @Autowired
+    private TrainerProfileRepository trainerProfileRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private UserIdentityIndex userIdentityIndex;
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserProfileDTO> getAllUsersByRole(String role, String cursor, Integer limit) {
         Role roleEnum = Role.valueOf(role);
-        return userRepository.findByRole(roleEnum).stream()
-                .map(u -> userService.getProfile(u.getUsername()))
+        int pageSize = KeysetCursor.pageSize(limit);
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        List<UserProfileDTO> users = userRepository
+                .findProfileRowsByRoleAfter(roleEnum, afterId, Limit.of(pageSize + 1)).stream()
+                .map(this::mapToUserProfileDTO)
                 .collect(Collectors.toList());
+        return KeysetCursor.page(users, pageSize, u -> KeysetCursor.encode(u.getId()));
     }
 
     public void deleteUser(Long id) {
         if (id == null)
             throw new IllegalArgumentException("ID must not be null");
+        userRepository.findById(id).ifPresent(user -> {
+            dashboardCache.invalidateUser(user.getUsername());
+            userIdentityIndex.remove(user.getUsername(), user.getEmail());
+        });
+        tokenVersionService.revokeAll(id);
+        // User no longer maps the profiles, so they are not removed by cascade
+        userProfileRepository.findByUserId(id).ifPresent(userProfileRepository::delete);
+        trainerProfileRepository.findByUserId(id).ifPresent(trainerProfileRepository::delete);
         userRepository.deleteById(id);
     }
 
+    public void revokeTokens(Long userId) {
+        if (userId == null)
+            throw new IllegalArgumentException("ID must not be null");
+        if (!userRepository.existsById(userId))
+            throw new RuntimeException("User not found");
+        tokenVersionService.revokeAll(userId);
+    }
+
     @Transactional
     public void assignTrainer(Long userId, Long trainerId) {
         if (userId == null || trainerId == null) {
@@ -49,5 +90,22 @@ public class AdminService {
 
         user.setAssignedTrainer(trainer);
         userRepository.save(java.util.Objects.requireNonNull(user));
+        dashboardCache.invalidateUser(user.getUsername());
+        dataVersionService.bump(user.getUsername());
+    }
+
+    private UserProfileDTO mapToUserProfileDTO(UserProfileRowDTO row) {
+        UserProfileDTO dto = new UserProfileDTO();
+        dto.setId(row.id());
+        dto.setUsername(row.username());
+        dto.setFullName(row.fullName());
+        dto.setAge(row.age());
+        dto.setGender(row.gender());
+        dto.setHeight(row.height());
+        dto.setWeight(row.weight());
+        dto.setFitnessGoal(row.fitnessGoal());
+        dto.setMedicalNotes(row.medicalNotes());
+        dto.setRole(row.role());
+        return dto;
     }
 }
@@ -48,6 +48,7 @@ public class AssignmentService {
         return mapToAssignmentDTO(savedAssignment);
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAllAssignments() {
         return assignmentRepository.findAll().stream()
                 .map(this::mapToAssignmentDTO)
@@ -1,31 +1,34 @@
 package com.wellnest.service;
 
 import com.wellnest.config.JwtUtils;
+import com.wellnest.dto.AvailabilityDTO;
 import com.wellnest.dto.LoginRequest;
 import com.wellnest.dto.LoginResponse;
 import com.wellnest.dto.RegisterRequest;
+import com.wellnest.entity.RefreshToken;
 import com.wellnest.entity.Role;
 import com.wellnest.entity.User;
 import com.wellnest.entity.UserProfile;
 import com.wellnest.entity.TrainerProfile;
+import com.wellnest.exception.InvalidRefreshTokenException;
 import com.wellnest.repository.UserRepository;
 import com.wellnest.repository.UserProfileRepository;
 import com.wellnest.repository.TrainerProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private UserRepository userRepository;
 
@@ -41,26 +44,75 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
-    public LoginResponse login(LoginRequest loginRequest) {
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("Error: User not found!"));
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private UserIdentityIndex userIdentityIndex;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    @Qualifier("loginTokenExecutor")
+    private ThreadPoolTaskExecutor loginTokenExecutor;
+
+    @Autowired
+    private AccessTokenRevocations accessTokenRevocations;
+
+    // The user is loaded once here and the password checked against it directly, instead of
+    // authenticationManager looking the same row up again. An unknown username goes through the same
+    // BCrypt check and fails with the same error as a wrong password.
+    public CompletableFuture<LoginResponse> login(LoginRequest loginRequest) {
+        User user = userRepository.findByUsername(loginRequest.getUsername()).orElse(null);
+        CompletableFuture<Boolean> check = user != null
+                ? passwordVerifier.matches(loginRequest.getPassword(), user.getPassword())
+                : passwordVerifier.matchesUnknownUser(loginRequest.getPassword());
+
+        // The verifier pool only runs BCrypt; the token writes continue on their own executor
+        return check.thenApplyAsync(matches -> {
+            if (!matches)
+                throw new BadCredentialsException("Bad credentials");
+            return tokensFor(user, refreshTokenService.issue(user));
+        }, loginTokenExecutor);
+    }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    // Rotates the refresh token: the presented one is spent and a new pair is returned
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public LoginResponse refresh(String refreshToken) {
+        RefreshToken previous = refreshTokenService.consume(refreshToken);
+        return tokensFor(previous.getUser(), refreshTokenService.issueNext(previous));
+    }
+
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null)
+            refreshTokenService.revoke(refreshToken);
+        // The access token stays valid until it expires unless its id is revoked as well
+        if (accessToken != null)
+            jwtUtils.verifyAndExtract(accessToken)
+                    .ifPresent(claims -> accessTokenRevocations.revoke(claims.jti(), claims.expiresAt()));
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateToken(user.getUsername(), user.getRole().name());
+    private LoginResponse tokensFor(User user, String refreshToken) {
+        String jwt = jwtUtils.generateToken(user.getUsername(), user.getRole().name(), user.getId(),
+                refreshTokenService.currentTokenVersion(user));
+        return new LoginResponse(jwt, user.getId(), user.getUsername(), user.getRole(), refreshToken);
+    }
 
-        return new LoginResponse(jwt, user.getId(), user.getUsername(), user.getRole());
+    public AvailabilityDTO checkAvailability(String username, String email) {
+        return userIdentityIndex.check(username, email);
     }
 
     @Transactional
     public String register(RegisterRequest registerRequest) {
-        if (userRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
+        AvailabilityDTO availability = userIdentityIndex.check(registerRequest.getUsername(),
+                registerRequest.getEmail());
+        if (!availability.usernameAvailable()) {
             throw new RuntimeException("Error: Username is already taken!");
         }
 
-        if (userRepository.findByEmail(registerRequest.getEmail()).isPresent()) {
+        if (!availability.emailAvailable()) {
             throw new RuntimeException("Error: Email is already taken!");
         }
 
@@ -71,7 +123,13 @@ public class AuthService {
                 .role(registerRequest.getRole())
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyTaken(e);
+        }
+        userIdentityIndex.add(savedUser.getUsername(), savedUser.getEmail());
 
         // Initialize empty profile
         if (savedUser.getRole() == Role.USER) {
@@ -82,4 +140,18 @@ public class AuthService {
 
         return "User registered successfully!";
     }
+
+    // The index can miss a name taken on another instance or by a registration racing this one; the unique
+    // keys still catch it, and the caller gets the same error the index check would have given
+    private static RuntimeException alreadyTaken(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                        ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                        : "";
+        if (constraint.contains("uk_users_username"))
+            return new RuntimeException("Error: Username is already taken!");
+        if (constraint.contains("uk_users_email"))
+            return new RuntimeException("Error: Email is already taken!");
+        return e;
+    }
 }
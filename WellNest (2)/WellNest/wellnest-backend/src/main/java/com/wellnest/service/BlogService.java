@@ -1,10 +1,12 @@
 package com.wellnest.service;
 
+import com.wellnest.dto.CursorPage;
 import com.wellnest.entity.BlogPost;
 import com.wellnest.entity.User;
 import com.wellnest.repository.BlogPostRepository;
 import com.wellnest.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,8 +20,11 @@ public class BlogService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<BlogPost> getAllPosts() {
-        return blogPostRepository.findAll();
+    public CursorPage<BlogPost> getAllPosts(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        Long beforeId = cursor != null ? KeysetCursor.decodeId(cursor) : Long.MAX_VALUE;
+        List<BlogPost> posts = blogPostRepository.findByIdLessThanOrderByIdDesc(beforeId, Limit.of(pageSize + 1));
+        return KeysetCursor.page(posts, pageSize, p -> KeysetCursor.encode(p.getId()));
     }
 
     public BlogPost createPost(String username, String title, String content) {
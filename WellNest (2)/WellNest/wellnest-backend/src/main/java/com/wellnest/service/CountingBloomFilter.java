@@ -0,0 +1,98 @@
+package com.wellnest.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over strings with 4-bit counters packed sixteen to a
+ * long. It never answers "absent" for a key that was added and not removed;
+ * a counter that saturates is pinned so removals cannot undercount it.
+ */
+final class CountingBloomFilter {
+
+    private static final int BITS_PER_COUNTER = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / BITS_PER_COUNTER;
+    private static final long MAX_COUNT = (1L << BITS_PER_COUNTER) - 1;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(Math.max(1, words));
+        this.counters = (long) this.words.length() * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / n * Math.log(2)));
+    }
+
+    void add(String key) {
+        long[] hash = hash(key);
+        for (int i = 0; i < hashes; i++)
+            update(index(hash, i), 1);
+    }
+
+    void remove(String key) {
+        long[] hash = hash(key);
+        for (int i = 0; i < hashes; i++)
+            update(index(hash, i), -1);
+    }
+
+    boolean mightContain(String key) {
+        long[] hash = hash(key);
+        for (int i = 0; i < hashes; i++) {
+            if (count(index(hash, i)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    private long count(long index) {
+        long word = words.get((int) (index / COUNTERS_PER_WORD));
+        return (word >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void update(long index, int delta) {
+        int slot = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long word = words.get(slot);
+            long count = (word >>> shift) & MAX_COUNT;
+            // Saturated counters no longer know their true count, so they stay put
+            if (count == MAX_COUNT || (delta < 0 && count == 0))
+                return;
+            long updated = (word & ~(MAX_COUNT << shift)) | ((count + delta) << shift);
+            if (words.compareAndSet(slot, word, updated))
+                return;
+        }
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * BITS_PER_COUNTER;
+    }
+
+    // Double hashing: the i-th probe is h1 + i * h2 over the counter space
+    private long index(long[] hash, int i) {
+        return Math.floorMod(hash[0] + i * hash[1], counters);
+    }
+
+    private static long[] hash(String key) {
+        long h1 = 0x9E3779B97F4A7C15L;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ b) * 0x100000001B3L;
+            h2 = (h2 + b) * 0xFF51AFD7ED558CCDL;
+        }
+        return new long[] { mix(h1), mix(h2) | 1 };
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,169 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.DailyStatsDTO;
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.entity.DailyUserStats;
+import com.wellnest.entity.NutritionLog;
+import com.wellnest.entity.SleepMood;
+import com.wellnest.entity.Workout;
+import com.wellnest.entity.WorkoutPlan;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-day chart metrics for a date range, one primitive array slot per day
+ * indexed by {@code epochDay - startEpochDay}. Each source list is folded in
+ * with a single pass, so building a range is linear in days plus rows.
+ * <p>
+ * Weekly and monthly output folds the days into Monday- or first-of-month
+ * buckets: calories, water and steps become the per-day average over the
+ * bucket, sleep the average over the nights that were logged, and workouts
+ * the bucket total. The first bucket is dated at the range start.
+ */
+public final class DailySeries {
+
+    private final LocalDate startDate;
+    private final long startEpochDay;
+    private final int days;
+
+    private final double[] caloriesConsumed;
+    private final double[] waterConsumed;
+    private final double[] sleepHours;
+    private final int[] steps;
+    private final int[] workoutsCompleted;
+
+    public DailySeries(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.startEpochDay = startDate.toEpochDay();
+        this.days = Math.toIntExact(Math.max(0, endDate.toEpochDay() - startEpochDay + 1));
+        this.caloriesConsumed = new double[days];
+        this.waterConsumed = new double[days];
+        this.sleepHours = new double[days];
+        this.steps = new int[days];
+        this.workoutsCompleted = new int[days];
+    }
+
+    public int size() {
+        return days;
+    }
+
+    public DailySeries addNutritionLogs(List<NutritionLog> logs) {
+        for (NutritionLog log : logs) {
+            int i = indexOf(log.getNutritionDate());
+            if (i < 0)
+                continue;
+            caloriesConsumed[i] = log.getCaloriesConsumed() != null ? log.getCaloriesConsumed() : 0;
+            waterConsumed[i] = log.getWaterIntake() != null ? log.getWaterIntake() : 0;
+            steps[i] = log.getSteps() != null ? log.getSteps() : 0;
+        }
+        return this;
+    }
+
+    public DailySeries addSleep(List<SleepMood> entries) {
+        for (SleepMood entry : entries) {
+            int i = indexOf(entry.getDate());
+            if (i >= 0)
+                sleepHours[i] = entry.getSleepHours() != null ? entry.getSleepHours() : 0;
+        }
+        return this;
+    }
+
+    public DailySeries addWorkoutPlans(List<WorkoutPlan> plans) {
+        for (WorkoutPlan plan : plans) {
+            int i = indexOf(plan.getWorkoutDate());
+            if (i >= 0 && plan.isCompleted())
+                workoutsCompleted[i]++;
+        }
+        return this;
+    }
+
+    public DailySeries addWorkouts(List<Workout> workouts) {
+        for (Workout workout : workouts) {
+            int i = indexOf(workout.getDate());
+            if (i >= 0)
+                workoutsCompleted[i]++;
+        }
+        return this;
+    }
+
+    public DailySeries addRollup(List<DailyUserStats> rows) {
+        for (DailyUserStats row : rows) {
+            int i = indexOf(row.getStatsDate());
+            if (i < 0)
+                continue;
+            caloriesConsumed[i] = row.getCaloriesConsumed();
+            waterConsumed[i] = row.getWaterIntake();
+            sleepHours[i] = row.getSleepHours();
+            steps[i] = row.getSteps();
+            workoutsCompleted[i] = row.getWorkoutsCompleted() + row.getAdHocWorkouts();
+        }
+        return this;
+    }
+
+    public List<DailyStatsDTO> toDailyStats() {
+        List<DailyStatsDTO> stats = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            stats.add(DailyStatsDTO.builder()
+                    .date(startDate.plusDays(i))
+                    .caloriesConsumed(caloriesConsumed[i])
+                    .waterConsumed(waterConsumed[i])
+                    .sleepHours(sleepHours[i])
+                    .workoutsCompleted(workoutsCompleted[i])
+                    .steps(steps[i])
+                    .build());
+        }
+        return stats;
+    }
+
+    public List<DailyStatsDTO> toDailyStats(DashboardGranularity granularity) {
+        if (granularity == DashboardGranularity.DAY)
+            return toDailyStats();
+
+        List<DailyStatsDTO> stats = new ArrayList<>();
+        int bucketStart = 0;
+        while (bucketStart < days) {
+            LocalDate date = startDate.plusDays(bucketStart);
+            LocalDate next = granularity == DashboardGranularity.MONTH
+                    ? date.withDayOfMonth(1).plusMonths(1)
+                    : date.with(DayOfWeek.MONDAY).plusWeeks(1);
+            int bucketEnd = (int) Math.min(days, next.toEpochDay() - startEpochDay);
+            stats.add(bucket(date, bucketStart, bucketEnd));
+            bucketStart = bucketEnd;
+        }
+        return stats;
+    }
+
+    private DailyStatsDTO bucket(LocalDate date, int from, int to) {
+        double calories = 0, water = 0, sleep = 0;
+        long stepTotal = 0;
+        int nights = 0, workouts = 0;
+        for (int i = from; i < to; i++) {
+            calories += caloriesConsumed[i];
+            water += waterConsumed[i];
+            stepTotal += steps[i];
+            workouts += workoutsCompleted[i];
+            if (sleepHours[i] > 0) {
+                sleep += sleepHours[i];
+                nights++;
+            }
+        }
+        int length = to - from;
+        return DailyStatsDTO.builder()
+                .date(date)
+                .caloriesConsumed(calories / length)
+                .waterConsumed(water / length)
+                .sleepHours(nights > 0 ? sleep / nights : 0)
+                .workoutsCompleted(workouts)
+                .steps((int) Math.round((double) stepTotal / length))
+                .build();
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date == null)
+            return -1;
+        long offset = date.toEpochDay() - startEpochDay;
+        return offset >= 0 && offset < days ? (int) offset : -1;
+    }
+}
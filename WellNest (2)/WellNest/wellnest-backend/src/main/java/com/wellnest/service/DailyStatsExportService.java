@@ -0,0 +1,117 @@
+package com.wellnest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wellnest.dto.DailyCountDTO;
+import com.wellnest.dto.DailyNutritionDTO;
+import com.wellnest.dto.DailySleepDTO;
+import com.wellnest.dto.DailyStatsDTO;
+import com.wellnest.entity.User;
+import com.wellnest.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes one {@link DailyStatsDTO} per day as newline-delimited JSON. Each
+ * source is read as a date-ordered cursor and merged day by day, so memory
+ * use does not grow with the length of the range.
+ */
+@Service
+public class DailyStatsExportService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyUserStatsRepository dailyUserStatsRepository;
+
+    @Autowired
+    private NutritionLogRepository nutritionLogRepository;
+
+    @Autowired
+    private SleepMoodRepository sleepMoodRepository;
+
+    @Autowired
+    private WorkoutPlanRepository workoutPlanRepository;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeDailyStats(String username, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        // Without explicit bounds export the whole history up to today
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate
+                : dailyUserStatsRepository.findFirstStatsDate(user).orElse(end);
+
+        ObjectWriter writer = objectMapper.writerFor(DailyStatsDTO.class);
+        try (Stream<DailyNutritionDTO> nutritionRows = nutritionLogRepository.streamDailyNutrition(user, start, end);
+                Stream<DailySleepDTO> sleepRows = sleepMoodRepository.streamDailySleep(user, start, end);
+                Stream<DailyCountDTO> planRows = workoutPlanRepository.streamDailyCompletedCounts(user, start, end);
+                Stream<DailyCountDTO> workoutRows = workoutRepository.streamDailyCounts(user, start, end)) {
+            Cursor<DailyNutritionDTO> nutrition = new Cursor<>(nutritionRows, DailyNutritionDTO::date);
+            Cursor<DailySleepDTO> sleep = new Cursor<>(sleepRows, DailySleepDTO::date);
+            Cursor<DailyCountDTO> plans = new Cursor<>(planRows, DailyCountDTO::date);
+            Cursor<DailyCountDTO> workouts = new Cursor<>(workoutRows, DailyCountDTO::date);
+
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                DailyNutritionDTO log = nutrition.take(date);
+                DailySleepDTO night = sleep.take(date);
+                DailyCountDTO completed = plans.take(date);
+                DailyCountDTO adHoc = workouts.take(date);
+
+                DailyStatsDTO stats = DailyStatsDTO.builder()
+                        .date(date)
+                        .caloriesConsumed(log != null && log.caloriesConsumed() != null ? log.caloriesConsumed() : 0)
+                        .waterConsumed(log != null && log.waterIntake() != null ? log.waterIntake() : 0)
+                        .steps(log != null && log.steps() != null ? log.steps() : 0)
+                        .sleepHours(night != null && night.sleepHours() != null ? night.sleepHours() : 0)
+                        .workoutsCompleted((int) ((completed != null ? completed.count() : 0)
+                                + (adHoc != null ? adHoc.count() : 0)))
+                        .build();
+                out.write(writer.writeValueAsBytes(stats));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private static final class Cursor<T> {
+        private final Iterator<T> rows;
+        private final Function<T, LocalDate> dateOf;
+        private T next;
+
+        Cursor(Stream<T> stream, Function<T, LocalDate> dateOf) {
+            this.rows = stream.iterator();
+            this.dateOf = dateOf;
+            advance();
+        }
+
+        // Rows arrive in date order with at most one per day
+        T take(LocalDate date) {
+            while (next != null && dateOf.apply(next).isBefore(date))
+                advance();
+            if (next == null || !dateOf.apply(next).equals(date))
+                return null;
+            T row = next;
+            advance();
+            return row;
+        }
+
+        private void advance() {
+            next = rows.hasNext() ? rows.next() : null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wellnest.service;
+
+import com.wellnest.entity.User;
+import com.wellnest.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class DailyStatsRollupService {
+
+    public static final double DEFAULT_CALORIES_TARGET = 2000.0;
+    public static final double DEFAULT_PROTEIN_TARGET = 150.0;
+    public static final double DEFAULT_CARBS_TARGET = 300.0;
+    public static final double DEFAULT_FATS_TARGET = 70.0;
+    public static final double DEFAULT_WATER_TARGET = 3.0;
+    public static final int DEFAULT_STEPS_TARGET = 10000;
+
+    @Autowired
+    private DailyUserStatsRepository dailyUserStatsRepository;
+
+    @Autowired
+    private NutritionLogRepository nutritionLogRepository;
+
+    @Autowired
+    private SleepMoodRepository sleepMoodRepository;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private WorkoutPlanRepository workoutPlanRepository;
+
+    @Autowired
+    private NutritionAssignmentRepository nutritionAssignmentRepository;
+
+    public void refresh(User user, Collection<LocalDate> dates) {
+        dates.stream().filter(Objects::nonNull).distinct().forEach(date -> refresh(user, date));
+    }
+
+    public void refresh(User user, LocalDate date) {
+        if (date == null)
+            return;
+        dailyUserStatsRepository.refresh(user.getId(), date, DEFAULT_CALORIES_TARGET, DEFAULT_PROTEIN_TARGET,
+                DEFAULT_CARBS_TARGET, DEFAULT_FATS_TARGET, DEFAULT_WATER_TARGET, DEFAULT_STEPS_TARGET);
+    }
+
+    public void rebuild(User user) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        dates.addAll(nutritionLogRepository.findDatesByUser(user));
+        dates.addAll(sleepMoodRepository.findDatesByUser(user));
+        dates.addAll(workoutRepository.findDatesByUser(user));
+        dates.addAll(workoutPlanRepository.findDatesByUser(user));
+        dates.addAll(nutritionAssignmentRepository.findDatesByUser(user));
+        refresh(user, dates);
+    }
+}
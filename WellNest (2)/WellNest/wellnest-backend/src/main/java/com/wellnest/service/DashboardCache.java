@@ -0,0 +1,227 @@
+package com.wellnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.dto.DashboardSection;
+import com.wellnest.dto.DashboardSummaryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Service
+public class DashboardCache {
+
+    private record Key(String username, LocalDate startDate, LocalDate endDate, Set<DashboardSection> sections,
+            DashboardGranularity granularity) {
+        boolean covers(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+
+    private record Load(UserEntries entries, long generation) {
+    }
+
+    private final Cache<Key, DashboardSummaryDTO> cache;
+
+    // Cached keys per user, so a write only touches that user's entries. A user is dropped once nothing of
+    // theirs is cached and no load is in flight.
+    private final Map<String, UserEntries> users = new ConcurrentHashMap<>();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public DashboardCache(@Value("${wellnest.dashboard.cache.max-size:10000}") long maxSize,
+            @Value("${wellnest.dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+    }
+
+    public DashboardSummaryDTO get(String username, LocalDate startDate, LocalDate endDate,
+            Set<DashboardSection> sections, DashboardGranularity granularity, Supplier<DashboardSummaryDTO> loader) {
+        Key key = new Key(username, startDate, endDate, sections, granularity);
+        DashboardSummaryDTO cached = cache.getIfPresent(key);
+        if (cached != null)
+            return cached;
+
+        Load load = begin(username);
+        try {
+            DashboardSummaryDTO summary = loader.get();
+            load.entries().store(key, summary, load.generation());
+            return summary;
+        } finally {
+            load.entries().release();
+        }
+    }
+
+    // Looks every username up and loads all misses with a single loader call
+    public Map<String, DashboardSummaryDTO> getAll(Collection<String> usernames, LocalDate startDate,
+            LocalDate endDate, Set<DashboardSection> sections, DashboardGranularity granularity,
+            Function<Set<String>, Map<String, DashboardSummaryDTO>> loader) {
+        Map<String, DashboardSummaryDTO> result = new LinkedHashMap<>();
+        Map<String, Load> missing = new LinkedHashMap<>();
+        try {
+            for (String username : usernames) {
+                DashboardSummaryDTO cached = cache.getIfPresent(new Key(username, startDate, endDate, sections,
+                        granularity));
+                if (cached != null)
+                    result.put(username, cached);
+                else if (!missing.containsKey(username))
+                    missing.put(username, begin(username));
+            }
+            if (missing.isEmpty())
+                return result;
+
+            loader.apply(missing.keySet()).forEach((username, summary) -> {
+                Load load = missing.get(username);
+                load.entries().store(new Key(username, startDate, endDate, sections, granularity), summary,
+                        load.generation());
+                result.put(username, summary);
+            });
+            return result;
+        } finally {
+            missing.values().forEach(load -> load.entries().release());
+        }
+    }
+
+    public void invalidate(String username, LocalDate date) {
+        if (date != null)
+            invalidateWhere(username, key -> key.covers(date));
+    }
+
+    public void invalidate(String username, Collection<LocalDate> dates) {
+        invalidateWhere(username, key -> dates.stream().anyMatch(d -> d != null && key.covers(d)));
+    }
+
+    public void invalidateUser(String username) {
+        invalidateWhere(username, key -> true);
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("users", users.size());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("invalidations", invalidations.sum());
+        return result;
+    }
+
+    private void invalidateWhere(String username, Predicate<Key> affected) {
+        Runnable invalidation = () -> {
+            UserEntries entries = users.get(username);
+            while (entries != null && !entries.invalidate(affected))
+                entries = users.get(username);
+        };
+        invalidation.run();
+        // Run again once the write is visible, in case a reader cached the pre-commit state meanwhile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private Load begin(String username) {
+        while (true) {
+            UserEntries entries = users.computeIfAbsent(username, UserEntries::new);
+            Long generation = entries.begin();
+            if (generation != null)
+                return new Load(entries, generation);
+        }
+    }
+
+    // Size and expiry evictions; explicit invalidations already updated the index
+    private void onRemoval(Key key, DashboardSummaryDTO summary, RemovalCause cause) {
+        if (key == null || !cause.wasEvicted())
+            return;
+        UserEntries entries = users.get(key.username());
+        if (entries != null)
+            entries.evicted(key);
+    }
+
+    private final class UserEntries {
+        private final String username;
+        private final Set<Key> keys = new HashSet<>();
+        // Bumped on every invalidation so a load that raced with a write is not stored
+        private long generation;
+        private int loading;
+        private boolean retired;
+
+        UserEntries(String username) {
+            this.username = username;
+        }
+
+        // The generation the load starts from, or null when this instance was already dropped
+        synchronized Long begin() {
+            if (retired)
+                return null;
+            loading++;
+            return generation;
+        }
+
+        synchronized void store(Key key, DashboardSummaryDTO summary, long loadedAt) {
+            if (loadedAt != generation)
+                return;
+            cache.put(key, summary);
+            keys.add(key);
+        }
+
+        synchronized void release() {
+            loading--;
+            retireIfUnused();
+        }
+
+        synchronized boolean invalidate(Predicate<Key> affected) {
+            if (retired)
+                return false;
+            generation++;
+            List<Key> removed = keys.stream().filter(affected).toList();
+            removed.forEach(keys::remove);
+            cache.invalidateAll(removed);
+            invalidations.add(removed.size());
+            retireIfUnused();
+            return true;
+        }
+
+        // Notifications arrive asynchronously, so the key may have been stored again since
+        synchronized void evicted(Key key) {
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+                retireIfUnused();
+            }
+        }
+
+        private void retireIfUnused() {
+            if (!retired && loading == 0 && keys.isEmpty()) {
+                retired = true;
+                users.remove(username, this);
+            }
+        }
+    }
+}
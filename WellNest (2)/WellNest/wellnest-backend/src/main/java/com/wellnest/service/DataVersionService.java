@@ -0,0 +1,48 @@
+package com.wellnest.service;
+
+import com.wellnest.config.ReplicaRoutingDataSource;
+import com.wellnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class DataVersionService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Present only with replica routing enabled
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public void bump(String username) {
+        bump(List.of(username));
+    }
+
+    public void bump(Collection<String> usernames) {
+        if (usernames.isEmpty())
+            return;
+        userRepository.incrementDataVersion(usernames);
+        if (replicaRoutingDataSource != null)
+            replicaRoutingDataSource.recordWritesOnCommit(usernames);
+    }
+
+    // Strong ETag for one representation of a user's data. The version is read before the
+    // response is built, so a concurrent write can only make the tag older than the body.
+    // It comes from the primary; a replica could hand out a version the body has already passed.
+    @Transactional(readOnly = true)
+    public String etag(String username, Object... representation) {
+        long version = ReplicaRoutingDataSource.onPrimary(
+                () -> userRepository.findDataVersionByUsername(username).orElse(0L));
+        String key = Arrays.stream(representation).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + version + "-" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
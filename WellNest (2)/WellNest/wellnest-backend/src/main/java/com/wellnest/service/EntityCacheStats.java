@@ -0,0 +1,51 @@
+package com.wellnest.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hit, miss and put counters for the Hibernate second-level cache, per
+ * region and in total, for tuning the bounds in ehcache.xml.
+ */
+@Service
+public class EntityCacheStats {
+
+    private final Statistics statistics;
+
+    public EntityCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelPuts", statistics.getSecondLevelCachePutCount());
+        result.put("naturalIdHits", statistics.getNaturalIdCacheHitCount());
+        result.put("naturalIdMisses", statistics.getNaturalIdCacheMissCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+
+        Map<String, Object> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null)
+                continue;
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("hits", region.getHitCount());
+            counts.put("misses", region.getMissCount());
+            counts.put("puts", region.getPutCount());
+            regions.put(name, counts);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.CursorPage;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor carries the sort key of the
+ * last row served, and the next page seeks past it on an index instead of
+ * skipping rows, so a page costs the same however deep into a history it is.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String DATE_PREFIX = "d:";
+    private static final String ID_PREFIX = "i:";
+
+    private KeysetCursor() {
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null)
+            return DEFAULT_PAGE_SIZE;
+        if (limit < 1)
+            throw new RuntimeException("limit must be at least 1");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    public static String encode(LocalDate date) {
+        return wrap(DATE_PREFIX + date);
+    }
+
+    public static String encode(Long id) {
+        return wrap(ID_PREFIX + id);
+    }
+
+    public static LocalDate decodeDate(String cursor) {
+        try {
+            return LocalDate.parse(unwrap(cursor, DATE_PREFIX));
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(unwrap(cursor, ID_PREFIX));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // Rows are fetched with one extra beyond the page size; its presence is what says another page exists
+    public static <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize)
+            return new CursorPage<>(rows, null);
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+
+    private static String wrap(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unwrap(String cursor, String prefix) {
+        String key;
+        try {
+            key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (!key.startsWith(prefix))
+            throw new RuntimeException("Invalid cursor");
+        return key.substring(prefix.length());
+    }
+}
@@ -0,0 +1,100 @@
+package com.wellnest.service;
+
+import com.wellnest.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt password checks on a bounded pool sized to the cores, so login
+ * spikes queue here instead of occupying Tomcat's request threads. When the
+ * queue is full the login is refused with a retry hint rather than waiting.
+ */
+@Service
+public class PasswordVerifier {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordVerifierExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxVerifyNanos = new LongAccumulator(Math::max, 0);
+
+    // Encoded with the same encoder and cost as real passwords, so checking against it takes as long
+    private String unknownUserHash;
+
+    @PostConstruct
+    void init() {
+        unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    // For a username with no account: the same BCrypt work on the same pool, always failing, so the response
+    // time does not reveal whether the account exists
+    public CompletableFuture<Boolean> matchesUnknownUser(String rawPassword) {
+        return matches(rawPassword, unknownUserHash).thenApply(matches -> false);
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    waitNanos.add(startedAt - queuedAt);
+                    verifyNanos.add(elapsed);
+                    maxVerifyNanos.accumulate(elapsed);
+                    verified.increment();
+                }
+            }, executor);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login attempts, please retry shortly", retryAfterSeconds());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long count = verified.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("poolSize", executor.getPoolSize());
+        result.put("active", executor.getActiveCount());
+        result.put("queueDepth", executor.getThreadPoolExecutor().getQueue().size());
+        result.put("queueCapacity", executor.getQueueCapacity());
+        result.put("verified", count);
+        result.put("rejected", rejected.sum());
+        result.put("avgVerifyMillis", count == 0 ? 0.0 : verifyNanos.sum() / 1e6 / count);
+        result.put("maxVerifyMillis", maxVerifyNanos.get() / 1e6);
+        result.put("avgQueueWaitMillis", count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count);
+        return result;
+    }
+
+    // Time to drain the current queue at the observed verify rate, at least one second
+    private long retryAfterSeconds() {
+        long count = verified.sum();
+        if (count == 0)
+            return 1;
+        double avgNanos = (double) verifyNanos.sum() / count;
+        int threads = Math.max(1, executor.getMaxPoolSize());
+        double drainNanos = executor.getThreadPoolExecutor().getQueue().size() * avgNanos / threads;
+        return Math.max(1, (long) Math.ceil(drainNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
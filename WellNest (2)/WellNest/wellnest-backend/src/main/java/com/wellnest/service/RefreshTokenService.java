@@ -0,0 +1,86 @@
+package com.wellnest.service;
+
+import com.wellnest.config.JwtUtils;
+import com.wellnest.entity.RefreshToken;
+import com.wellnest.entity.User;
+import com.wellnest.exception.InvalidRefreshTokenException;
+import com.wellnest.repository.RefreshTokenRepository;
+import com.wellnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${wellnest.jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    // Starts a new rotation chain for a fresh login
+    public String issue(User user) {
+        refreshTokenRepository.deleteExpired(user, Instant.now());
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // Consumes the token and returns its owner; the caller issues the replacement with issueNext
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RefreshToken consume(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(JwtUtils.sha256(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        // A used token coming back means it leaked, so the whole chain is retired
+        if (token.isRevoked() || refreshTokenRepository.markUsed(token.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        if (token.getExpiresAt().isBefore(Instant.now()))
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        if (token.getTokenVersion() != currentTokenVersion(token.getUser()))
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        return token;
+    }
+
+    public String issueNext(RefreshToken previous) {
+        return issue(previous.getUser(), previous.getFamilyId());
+    }
+
+    // Logout: retires the presented token and everything rotated from the same login
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(JwtUtils.sha256(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(JwtUtils.sha256(rawToken))
+                .familyId(familyId)
+                .tokenVersion(currentTokenVersion(user))
+                .expiresAt(Instant.now().plusMillis(refreshExpirationMs))
+                .build());
+        return rawToken;
+    }
+
+    // Read from the row, not the cached User, which can predate another instance's revocation
+    public long currentTokenVersion(User user) {
+        return userRepository.findTokenVersionById(user.getId()).orElse(-1L);
+    }
+}
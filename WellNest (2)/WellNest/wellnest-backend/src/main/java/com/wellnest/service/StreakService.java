@@ -2,9 +2,13 @@ package com.wellnest.service;
 
 import com.wellnest.entity.User;
 import com.wellnest.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDate;
 
 @Service
@@ -14,20 +18,36 @@ public class StreakService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     public void updateStreak(User user, LocalDate date) {
-        if (user.getLastActivityDate() == null) {
-            user.setCurrentStreak(1);
-        } else if (user.getLastActivityDate().equals(date.minusDays(1))) {
-            user.setCurrentStreak(user.getCurrentStreak() + 1);
-        } else if (user.getLastActivityDate().equals(date)) {
-            return; // Already active today
-        } else {
-            user.setCurrentStreak(1);
+        if (userRepository.advanceStreak(user.getId(), date, date.minusDays(1)) == 0)
+            return; // Already counted for this day or a later one
+        evictAfterCommit(user.getId());
+        // The streak is part of every cached range for this user
+        dashboardCache.invalidateUser(user.getUsername());
+    }
+
+    // The native update bypasses the users cache region. Evicting again after commit drops an old row that a
+    // concurrent reader cached while this transaction was still open.
+    private void evictAfterCommit(Long userId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(User.class, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(User.class, userId);
+                }
+            });
         }
-        user.setLastActivityDate(date);
-        userRepository.save(java.util.Objects.requireNonNull(user));
     }
 
+    @Transactional(readOnly = true)
     public int getCurrentVisibleStreak(User user) {
         if (user.getLastActivityDate() == null)
             return 0;
@@ -1,9 +1,11 @@
 package com.wellnest.service;
 
+import com.wellnest.dto.CursorPage;
 import com.wellnest.dto.TipDTO;
 import com.wellnest.entity.Tip;
 import com.wellnest.repository.TipRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Random;
@@ -34,10 +36,13 @@ public class TipService {
         return mapToTipDTO(activeTips.get(index));
     }
 
-    public List<TipDTO> getAllTips() {
-        return tipRepository.findAll().stream()
+    public CursorPage<TipDTO> getAllTips(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        Long afterId = cursor != null ? KeysetCursor.decodeId(cursor) : 0L;
+        List<TipDTO> tips = tipRepository.findByIdGreaterThanOrderById(afterId, Limit.of(pageSize + 1)).stream()
                 .map(this::mapToTipDTO)
                 .collect(Collectors.toList());
+        return KeysetCursor.page(tips, pageSize, t -> KeysetCursor.encode(t.getId()));
     }
 
     public TipDTO createTip(String content) {
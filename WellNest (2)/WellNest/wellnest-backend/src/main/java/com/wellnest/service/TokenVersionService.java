@@ -0,0 +1,54 @@
+package com.wellnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wellnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+@Service
+@Transactional
+public class TokenVersionService {
+
+    // Cached for deleted users so a token for them is rejected without another lookup
+    private static final long MISSING = -1;
+
+    private final UserRepository userRepository;
+
+    // Bounded staleness: another instance's revocation is seen within the TTL, a local one at once
+    private final Cache<Long, Long> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+            @Value("${wellnest.security.token-version.cache-size:100000}") long maxSize,
+            @Value("${wellnest.security.token-version.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Not read-only on purpose: a lagging replica would cache a new user as missing or miss a revocation
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long current = versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(MISSING));
+        return current != MISSING && current == tokenVersion;
+    }
+
+    // Invalidates every token issued to the user so far
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+}
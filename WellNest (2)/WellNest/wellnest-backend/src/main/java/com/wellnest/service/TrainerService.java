@@ -2,8 +2,12 @@ package com.wellnest.service;
 
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import com.wellnest.dto.*;
 import com.wellnest.entity.*;
@@ -34,6 +38,16 @@ public class TrainerService {
         @Autowired
         private CalculationService calculationService;
 
+        @Autowired
+        private DailyStatsRollupService dailyStatsRollupService;
+
+        @Autowired
+        private DashboardCache dashboardCache;
+
+        @Autowired
+        private DataVersionService dataVersionService;
+
+        @Transactional(readOnly = true)
         public List<UserProfileDTO> getAssignedUsers(String trainerUsername) {
                 User trainer = userRepository.findByUsername(trainerUsername)
                                 .orElseThrow(() -> new RuntimeException("Trainer not found"));
@@ -43,16 +57,13 @@ public class TrainerService {
                                 .collect(Collectors.toList());
         }
 
+        @Transactional(readOnly = true)
         public TrainerProfileDTO getTrainerProfile(String username) {
                 User user = userRepository.findByUsername(username)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
+                // A trainer who never saved a profile reads as empty; updateTrainerProfile creates the row
                 TrainerProfile profile = trainerProfileRepository.findByUser(user)
-                                .orElseGet(() -> {
-                                        TrainerProfile newProfile = TrainerProfile.builder()
-                                                        .user(Objects.requireNonNull(user)).build();
-                                        return Objects.requireNonNull(trainerProfileRepository
-                                                        .save(Objects.requireNonNull(newProfile)));
-                                });
+                                .orElseGet(() -> TrainerProfile.builder().user(Objects.requireNonNull(user)).build());
 
                 TrainerProfileDTO dto = new TrainerProfileDTO();
                 dto.setId(user.getId());
@@ -72,8 +83,16 @@ public class TrainerService {
                 profile.setAvailableHoursPerDay(dto.getAvailableHoursPerDay());
                 profile.setExperienceYears(dto.getExperienceYears());
                 trainerProfileRepository.save(Objects.requireNonNull(profile));
+
+                // Athlete dashboards embed this profile
+                List<String> athletes = userRepository.findByAssignedTrainer(user).stream()
+                                .map(User::getUsername)
+                                .collect(Collectors.toList());
+                athletes.forEach(dashboardCache::invalidateUser);
+                dataVersionService.bump(athletes);
         }
 
+        @Transactional(readOnly = true)
         public UserProfileDTO getAthleteProfile(Long userId) {
                 if (userId == null)
                         throw new IllegalArgumentException("User ID must not be null");
@@ -95,6 +114,10 @@ public class TrainerService {
                                 .findByUserAndWeekStartDate(athlete, request.getWeekStartDate())
                                 .orElse(new WeeklyPlan());
 
+                // Days whose rollup changes: everything the old plan covered plus the new items
+                java.util.Set<LocalDate> touchedDates = new java.util.HashSet<>();
+                touchedDates.add(request.getWeekStartDate());
+
                 weeklyPlan.setTrainer(trainer);
                 weeklyPlan.setUser(athlete);
                 weeklyPlan.setWeekStartDate(request.getWeekStartDate());
@@ -102,6 +125,7 @@ public class TrainerService {
                 // Handle Workouts
                 if (request.getWorkouts() != null) {
                         if (weeklyPlan.getWorkouts() != null) {
+                                weeklyPlan.getWorkouts().forEach(w -> touchedDates.add(w.getWorkoutDate()));
                                 weeklyPlan.getWorkouts().clear();
                         } else {
                                 weeklyPlan.setWorkouts(new java.util.ArrayList<>());
@@ -120,12 +144,15 @@ public class TrainerService {
                                 return wp;
                         }).collect(Collectors.toList());
 
+                        workouts.forEach(w -> touchedDates.add(w.getWorkoutDate()));
                         weeklyPlan.getWorkouts().addAll(workouts);
                 }
 
                 // Handle Nutrition Assignments
                 if (request.getMeals() != null) {
                         if (weeklyPlan.getNutritionAssignments() != null) {
+                                weeklyPlan.getNutritionAssignments()
+                                                .forEach(na -> touchedDates.add(na.getNutritionDate()));
                                 weeklyPlan.getNutritionAssignments().clear();
                         } else {
                                 weeklyPlan.setNutritionAssignments(new java.util.ArrayList<>());
@@ -143,10 +170,14 @@ public class TrainerService {
                                 return na;
                         }).collect(Collectors.toList());
 
+                        nutritionAssignments.forEach(na -> touchedDates.add(na.getNutritionDate()));
                         weeklyPlan.getNutritionAssignments().addAll(nutritionAssignments);
                 }
 
                 weeklyPlanRepo.save(Objects.requireNonNull(weeklyPlan));
+                dataVersionService.bump(athlete.getUsername());
+                dailyStatsRollupService.refresh(athlete, touchedDates);
+                dashboardCache.invalidate(athlete.getUsername(), touchedDates);
         }
 
         public void cloneLastWeek(String trainerUsername,
@@ -205,8 +236,16 @@ public class TrainerService {
                 newPlan.setNutritionAssignments(clonedNutrition);
 
                 weeklyPlanRepo.save(Objects.requireNonNull(newPlan));
+
+                java.util.Set<LocalDate> touchedDates = new java.util.HashSet<>();
+                clonedWorkouts.forEach(w -> touchedDates.add(w.getWorkoutDate()));
+                clonedNutrition.forEach(na -> touchedDates.add(na.getNutritionDate()));
+                dataVersionService.bump(athlete.getUsername());
+                dailyStatsRollupService.refresh(athlete, touchedDates);
+                dashboardCache.invalidate(athlete.getUsername(), touchedDates);
         }
 
+        @Transactional(readOnly = true)
         public TrainerStatsDTO getTrainerStats(String trainerUsername) {
                 User trainer = userRepository.findByUsername(trainerUsername)
                                 .orElseThrow(() -> new RuntimeException("Trainer not found"));
@@ -223,14 +262,38 @@ public class TrainerService {
                                 .build();
         }
 
-        public DashboardSummaryDTO getAthleteDashboardStats(Long userId, LocalDate startDate, LocalDate endDate) {
+        @Transactional(readOnly = true)
+        public DashboardSummaryDTO getAthleteDashboardStats(Long userId, LocalDate startDate, LocalDate endDate,
+                        Set<DashboardSection> sections, DashboardGranularity granularity) {
                 if (userId == null)
                         throw new IllegalArgumentException("User ID must not be null");
                 User athlete = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
-                return userService.getDashboardSummary(athlete.getUsername(), startDate, endDate);
+                return userService.getDashboardSummary(athlete.getUsername(), startDate, endDate, sections,
+                                granularity);
+        }
+
+        // Dashboards for several of the trainer's athletes at once, keyed by athlete id. Only the caller's
+        // own roster is served; without ids it returns all of it.
+        @Transactional(readOnly = true)
+        public Map<Long, DashboardSummaryDTO> getAthletesDashboardStats(String trainerUsername, List<Long> userIds,
+                        LocalDate startDate, LocalDate endDate, Set<DashboardSection> sections,
+                        DashboardGranularity granularity) {
+                User trainer = userRepository.findByUsername(trainerUsername)
+                                .orElseThrow(() -> new RuntimeException("Trainer not found"));
+                Set<Long> wanted = userIds != null ? new HashSet<>(userIds) : Set.of();
+                List<User> athletes = userRepository.findByAssignedTrainer(trainer).stream()
+                                .filter(athlete -> wanted.isEmpty() || wanted.contains(athlete.getId()))
+                                .collect(Collectors.toList());
+
+                Map<String, DashboardSummaryDTO> summaries = userService.getDashboardSummaries(athletes, startDate,
+                                endDate, sections, granularity);
+                Map<Long, DashboardSummaryDTO> result = new LinkedHashMap<>();
+                athletes.forEach(athlete -> result.put(athlete.getId(), summaries.get(athlete.getUsername())));
+                return result;
         }
 
+        @Transactional(readOnly = true)
         public double getWeeklyProgress(Long userId, LocalDate weekStart) {
                 if (userId == null)
                         throw new IllegalArgumentException("User ID must not be null");
@@ -257,6 +320,7 @@ public class TrainerService {
                 return calculationService.calculatePercentage(completed, total);
         }
 
+        @Transactional(readOnly = true)
         public WeeklyDashboardDTO getWeeklyDashboard(String username) {
 
                 User user = userRepository.findByUsername(username)
@@ -304,19 +368,17 @@ public class TrainerService {
                 return calculationService.calculatePercentage(completed, total);
         }
 
+        @Transactional(readOnly = true)
         public List<TrainerProfileDTO> getSuggestedTrainers(String goal) {
-                List<TrainerProfile> allTrainers = trainerProfileRepository.findAll();
                 // Simple logic: if specialization matches goal, or general
-                return allTrainers.stream()
-                                .filter(t -> goal == null || t.getSpecialization() == null ||
-                                                t.getSpecialization().toLowerCase().contains(goal.toLowerCase()))
+                return trainerProfileRepository.findSuggestionRows(goal).stream()
                                 .map(t -> {
                                         TrainerProfileDTO dto = new TrainerProfileDTO();
-                                        dto.setId(t.getUser().getId());
-                                        dto.setUsername(t.getUser().getUsername());
-                                        dto.setSpecialization(t.getSpecialization());
-                                        dto.setExperienceYears(t.getExperienceYears());
-                                        dto.setAvailableHoursPerDay(t.getAvailableHoursPerDay());
+                                        dto.setId(t.id());
+                                        dto.setUsername(t.username());
+                                        dto.setSpecialization(t.specialization());
+                                        dto.setExperienceYears(t.experienceYears());
+                                        dto.setAvailableHoursPerDay(t.availableHoursPerDay());
                                         return dto;
                                 }).collect(Collectors.toList());
         }
@@ -331,6 +393,8 @@ public class TrainerService {
 
                 user.setAssignedTrainer(trainer);
                 userRepository.save(Objects.requireNonNull(user));
+                dashboardCache.invalidateUser(user.getUsername());
+                dataVersionService.bump(user.getUsername());
         }
 
 }
@@ -0,0 +1,100 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.AvailabilityDTO;
+import com.wellnest.dto.UserIdentityDTO;
+import com.wellnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this username / email taken" for registration. A miss in the
+ * in-memory filter is final; a hit is confirmed with one query covering both
+ * fields. Until the filter is built every check goes to the database.
+ */
+@Service
+public class UserIdentityIndex {
+
+    private final UserRepository userRepository;
+
+    private final CountingBloomFilter filter;
+
+    private volatile boolean ready;
+
+    public UserIdentityIndex(UserRepository userRepository,
+            @Value("${wellnest.auth.identity-index.expected-users:1000000}") long expectedUsers,
+            @Value("${wellnest.auth.identity-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        // Usernames and emails share the filter, so size it for both
+        this.filter = new CountingBloomFilter(expectedUsers * 2, falsePositiveRate);
+    }
+
+    // Runs after startup runners such as DataSeeder, so seeded users are included
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        try (Stream<UserIdentityDTO> identities = userRepository.streamIdentities()) {
+            identities.forEach(identity -> add(identity.username(), identity.email()));
+        }
+        ready = true;
+    }
+
+    @Transactional(readOnly = true)
+    public AvailabilityDTO check(String username, String email) {
+        String candidateUsername = username != null && (!ready || filter.mightContain(usernameKey(username)))
+                ? username
+                : null;
+        String candidateEmail = email != null && (!ready || filter.mightContain(emailKey(email))) ? email : null;
+
+        boolean usernameTaken = false;
+        boolean emailTaken = false;
+        if (candidateUsername != null || candidateEmail != null) {
+            List<UserIdentityDTO> matches = userRepository.findIdentities(candidateUsername, candidateEmail);
+            usernameTaken = candidateUsername != null
+                    && matches.stream().anyMatch(m -> m.username().equalsIgnoreCase(candidateUsername));
+            emailTaken = candidateEmail != null
+                    && matches.stream().anyMatch(m -> m.email().equalsIgnoreCase(candidateEmail));
+        }
+        return new AvailabilityDTO(username != null ? !usernameTaken : null, email != null ? !emailTaken : null);
+    }
+
+    // Added straight away: a stale entry only costs one confirming query
+    public void add(String username, String email) {
+        filter.add(usernameKey(username));
+        filter.add(emailKey(email));
+    }
+
+    // Removed only once the delete commits, so a rollback cannot leave a taken name reported as free
+    public void remove(String username, String email) {
+        Runnable removal = () -> {
+            filter.remove(usernameKey(username));
+            filter.remove(emailKey(email));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removal.run();
+                }
+            });
+        } else {
+            removal.run();
+        }
+    }
+
+    // Keys are lower-cased to match the database's case-insensitive comparison
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email.toLowerCase(Locale.ROOT);
+    }
+}
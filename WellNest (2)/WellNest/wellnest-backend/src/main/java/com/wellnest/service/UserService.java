@@ -1,18 +1,31 @@
 package com.wellnest.service;
 
+import com.wellnest.config.ReplicaRoutingDataSource;
 import com.wellnest.dto.*;
 import com.wellnest.entity.*;
 import com.wellnest.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
@@ -40,6 +53,40 @@ public class UserService {
     @Autowired
     private WeeklyPlanRepository weeklyPlanRepository;
 
+    @Autowired
+    private DailyStatsRollupService dailyStatsRollupService;
+
+    @Autowired
+    private DailyUserStatsRepository dailyUserStatsRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${wellnest.dashboard.rollup-enabled:true}")
+    private boolean rollupEnabled;
+
+    @Value("${wellnest.dashboard.aggregate-query-enabled:true}")
+    private boolean aggregateQueryEnabled;
+
+    @Autowired
+    private ThreadPoolTaskExecutor dashboardExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${wellnest.dashboard.parallel-enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${wellnest.datasource.routing.enabled:false}")
+    private boolean routingEnabled;
+
+    private record WorkoutCounts(long assigned, long completedAssigned, long adHoc) {
+    }
+
+    @Transactional(readOnly = true)
     public UserProfileDTO getProfile(String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
@@ -84,11 +131,13 @@ public class UserService {
         }
 
         userProfileRepository.save(Objects.requireNonNull(profile));
+        dataVersionService.bump(username);
     }
 
     @Autowired
     private WorkoutRepository workoutRepository;
 
+    @Transactional(readOnly = true)
     public List<WorkoutResponseDTO> getWorkouts(String username, LocalDate date, LocalDate startDate,
             LocalDate endDate) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
@@ -103,8 +152,9 @@ public class UserService {
             }
         }
 
-        List<Workout> logs = workoutRepository.findByUserAndDateBetween(user, startDate, endDate);
-        List<WorkoutPlan> assignments = workoutPlanRepository.findByUserAndWorkoutDateBetween(user, startDate, endDate);
+        List<WorkoutLogRowDTO> logs = workoutRepository.findRowsByUserAndDateBetween(user, startDate, endDate);
+        List<WorkoutPlanRowDTO> assignments = workoutPlanRepository.findRowsByUserAndWorkoutDateBetween(user, startDate,
+                endDate);
 
         List<WorkoutResponseDTO> response = new java.util.ArrayList<>();
 
@@ -112,7 +162,7 @@ public class UserService {
         logs.forEach(log -> response.add(mapWorkoutToDTO(log)));
 
         // Assigned workouts
-        assignments.forEach(plan -> response.add(mapToWorkoutDTOFromPlan(plan)));
+        assignments.forEach(plan -> response.add(mapPlanRowToDTO(plan)));
 
         return response;
     }
@@ -125,6 +175,7 @@ public class UserService {
             throw new RuntimeException("Unauthorized");
         }
         workoutRepository.delete(workout);
+        refreshDay(workout.getUser(), workout.getDate());
     }
 
     @Autowired
@@ -133,54 +184,38 @@ public class UserService {
     @Autowired
     private NutritionAssignmentRepository nutritionAssignmentRepository;
 
-    public List<NutritionLogDTO> getNutritionLogs(String username, LocalDate date, LocalDate startDate,
-            LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public CursorPage<NutritionLogDTO> getNutritionLogs(String username, LocalDate date, LocalDate startDate,
+            LocalDate endDate, String cursor, Integer limit) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        List<NutritionLog> logs;
         if (startDate != null && endDate != null) {
-            logs = nutritionLogRepository.findByUserAndNutritionDateBetween(user, startDate, endDate);
+            return new CursorPage<>(nutritionLogRepository
+                    .findRowsByUserAndNutritionDateBetween(user, startDate, endDate).stream()
+                    .map(this::mapToNutritionLogDTO).collect(Collectors.toList()), null);
         } else if (date != null) {
-            logs = nutritionLogRepository.findByUserAndNutritionDate(user, date).stream().toList();
-        } else {
-            logs = nutritionLogRepository.findByUser(user);
+            return new CursorPage<>(nutritionLogRepository
+                    .findRowsByUserAndNutritionDateBetween(user, date, date).stream()
+                    .map(this::mapToNutritionLogDTO).collect(Collectors.toList()), null);
         }
-        return logs.stream().map(this::mapToNutritionLogDTO).collect(Collectors.toList());
+        // Without a range the whole history is paged, newest first
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<NutritionLogRowDTO> rows = cursor != null
+                ? nutritionLogRepository.findRowsByUserBefore(user, KeysetCursor.decodeDate(cursor),
+                        Limit.of(pageSize + 1))
+                : nutritionLogRepository.findLatestRowsByUser(user, Limit.of(pageSize + 1));
+        return KeysetCursor.page(rows.stream().map(this::mapToNutritionLogDTO).collect(Collectors.toList()),
+                pageSize, n -> KeysetCursor.encode(n.getNutritionDate()));
     }
 
     public void logNutrition(String username, NutritionLogDTO dto) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         LocalDate logDate = dto.getNutritionDate() != null ? dto.getNutritionDate() : LocalDate.now();
 
-        NutritionLog log = nutritionLogRepository.findByUserAndNutritionDate(user, logDate).orElse(null);
-
-        if (log == null) {
-            log = new NutritionLog();
-            log.setUser(user);
-            log.setNutritionDate(logDate);
-            log.setCaloriesConsumed(0.0);
-            log.setProteinConsumed(0.0);
-            log.setCarbsConsumed(0.0);
-            log.setFatsConsumed(0.0);
-            log.setWaterIntake(0.0);
-            log.setSteps(0);
-            log.setStepsTarget(dto.getStepsTarget() != null ? dto.getStepsTarget() : 10000);
-        }
-
-        if (dto.getCaloriesConsumed() != null)
-            log.setCaloriesConsumed(dto.getCaloriesConsumed());
-        if (dto.getProteinConsumed() != null)
-            log.setProteinConsumed(dto.getProteinConsumed());
-        if (dto.getCarbsConsumed() != null)
-            log.setCarbsConsumed(dto.getCarbsConsumed());
-        if (dto.getFatsConsumed() != null)
-            log.setFatsConsumed(dto.getFatsConsumed());
-        if (dto.getWaterIntake() != null)
-            log.setWaterIntake(dto.getWaterIntake());
-        if (dto.getSteps() != null)
-            log.setSteps(dto.getSteps());
-
-        nutritionLogRepository.save(Objects.requireNonNull(log));
+        nutritionLogRepository.upsert(user.getId(), logDate, dto.getCaloriesConsumed(), dto.getProteinConsumed(),
+                dto.getCarbsConsumed(), dto.getFatsConsumed(), dto.getWaterIntake(), dto.getSteps(),
+                dto.getStepsTarget());
         streakService.updateStreak(user, logDate);
+        refreshDay(user, logDate);
     }
 
     public void deleteNutritionLog(Long id, String username) {
@@ -192,6 +227,7 @@ public class UserService {
             throw new RuntimeException("Unauthorized");
         }
         nutritionLogRepository.delete(log);
+        refreshDay(log.getUser(), log.getNutritionDate());
     }
 
     public void logAdHocWorkout(String username, WorkoutResponseDTO dto) {
@@ -207,19 +243,27 @@ public class UserService {
                 .build();
         workoutRepository.save(Objects.requireNonNull(workout));
         streakService.updateStreak(user, LocalDate.now());
+        refreshDay(user, workout.getDate());
     }
 
-    public List<SleepMoodDTO> getSleepMood(String username, LocalDate date, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public CursorPage<SleepMoodDTO> getSleepMood(String username, LocalDate date, LocalDate startDate,
+            LocalDate endDate, String cursor, Integer limit) {
         UserProfile profile = getProfileEntity(username);
-        List<SleepMood> entries;
         if (startDate != null && endDate != null) {
-            entries = sleepMoodRepository.findByProfileAndDateBetween(profile, startDate, endDate);
+            return new CursorPage<>(sleepMoodRepository.findRowsByProfileAndDateBetween(profile, startDate, endDate)
+                    .stream().map(this::mapToSleepMoodDTO).collect(Collectors.toList()), null);
         } else if (date != null) {
-            entries = sleepMoodRepository.findByProfileAndDate(profile, date);
-        } else {
-            entries = sleepMoodRepository.findByProfile(profile);
+            return new CursorPage<>(sleepMoodRepository.findRowsByProfileAndDateBetween(profile, date, date)
+                    .stream().map(this::mapToSleepMoodDTO).collect(Collectors.toList()), null);
         }
-        return entries.stream().map(this::mapToSleepMoodDTO).collect(Collectors.toList());
+        int pageSize = KeysetCursor.pageSize(limit);
+        List<SleepMoodRowDTO> entries = cursor != null
+                ? sleepMoodRepository.findRowsByProfileBefore(profile, KeysetCursor.decodeDate(cursor),
+                        Limit.of(pageSize + 1))
+                : sleepMoodRepository.findLatestRowsByProfile(profile, Limit.of(pageSize + 1));
+        return KeysetCursor.page(entries.stream().map(this::mapToSleepMoodDTO).collect(Collectors.toList()),
+                pageSize, s -> KeysetCursor.encode(s.getDate()));
     }
 
     public void logSleepMood(SleepMoodDTO dto, String username) {
@@ -229,17 +273,8 @@ public class UserService {
 
         LocalDate logDate = dto.getDate() != null ? dto.getDate() : LocalDate.now();
 
-        SleepMood entry = sleepMoodRepository.findByProfileAndDate(profile, logDate).stream().findFirst().orElse(null);
-        if (entry == null) {
-            entry = new SleepMood();
-            entry.setProfile(profile);
-            entry.setDate(logDate);
-        }
-
-        entry.setSleepHours(dto.getSleepHours());
-        entry.setMood(dto.getMood());
-        entry.setStressLevel(dto.getStressLevel());
-        sleepMoodRepository.save(Objects.requireNonNull(entry));
+        sleepMoodRepository.upsert(profile.getId(), logDate, dto.getSleepHours(), dto.getMood(), dto.getStressLevel());
+        refreshDay(user, logDate);
     }
 
     public void deleteSleepMood(Long id, String username) {
@@ -250,6 +285,16 @@ public class UserService {
             throw new RuntimeException("Unauthorized");
         }
         sleepMoodRepository.delete(entry);
+        refreshDay(entry.getProfile().getUser(), entry.getDate());
+    }
+
+    // Keeps the rollup row, any cached dashboards for that day and the data version in step with a write.
+    // The bump goes first so every write locks the user row before the rollup row; concurrent writes of
+    // different kinds for the same day would otherwise take the two locks in opposite orders and deadlock.
+    private void refreshDay(User user, LocalDate date) {
+        dataVersionService.bump(user.getUsername());
+        dailyStatsRollupService.refresh(user, date);
+        dashboardCache.invalidate(user.getUsername(), date);
     }
 
     private UserProfile getProfileEntity(String username) {
@@ -257,50 +302,53 @@ public class UserService {
         return userProfileRepository.findByUser(user).orElseThrow(() -> new RuntimeException("Profile not found"));
     }
 
-    private WorkoutResponseDTO mapWorkoutToDTO(Workout workout) {
+    private WorkoutResponseDTO mapWorkoutToDTO(WorkoutLogRowDTO workout) {
         WorkoutResponseDTO dto = new WorkoutResponseDTO();
-        dto.setId(workout.getId());
-        dto.setWorkoutName(workout.getName());
-        dto.setExerciseName(workout.getName()); // Alias
-        dto.setDuration(workout.getDurationMinutes() + " min");
-        dto.setTargetTime(workout.getDurationMinutes() + " min"); // Alias
-        dto.setCaloriesBurned(workout.getCaloriesBurned());
-        dto.setWorkoutDate(workout.getDate());
-        dto.setDate(workout.getDate()); // Frontend expected field
-        dto.setCategory(workout.getCategory());
+        dto.setId(workout.id());
+        dto.setWorkoutName(workout.name());
+        dto.setExerciseName(workout.name()); // Alias
+        dto.setDuration(workout.durationMinutes() + " min");
+        dto.setTargetTime(workout.durationMinutes() + " min"); // Alias
+        dto.setCaloriesBurned(workout.caloriesBurned());
+        dto.setWorkoutDate(workout.date());
+        dto.setDate(workout.date()); // Frontend expected field
+        dto.setCategory(workout.category());
         dto.setCompleted(true);
         dto.setPlan(false);
         return dto;
     }
 
-    private NutritionLogDTO mapToNutritionLogDTO(NutritionLog log) {
+    private NutritionLogDTO mapToNutritionLogDTO(NutritionLogRowDTO log) {
         NutritionLogDTO dto = new NutritionLogDTO();
-        dto.setId(log.getId());
-        dto.setCaloriesConsumed(log.getCaloriesConsumed());
-        dto.setProteinConsumed(log.getProteinConsumed());
-        dto.setCarbsConsumed(log.getCarbsConsumed());
-        dto.setFatsConsumed(log.getFatsConsumed());
-        dto.setWaterIntake(log.getWaterIntake());
-        dto.setSteps(log.getSteps());
-        dto.setStepsTarget(log.getStepsTarget());
-        dto.setNutritionDate(log.getNutritionDate());
+        dto.setId(log.id());
+        dto.setCaloriesConsumed(log.caloriesConsumed());
+        dto.setProteinConsumed(log.proteinConsumed());
+        dto.setCarbsConsumed(log.carbsConsumed());
+        dto.setFatsConsumed(log.fatsConsumed());
+        dto.setWaterIntake(log.waterIntake());
+        dto.setSteps(log.steps());
+        dto.setStepsTarget(log.stepsTarget());
+        dto.setNutritionDate(log.nutritionDate());
         return dto;
     }
 
-    private SleepMoodDTO mapToSleepMoodDTO(SleepMood entry) {
+    private SleepMoodDTO mapToSleepMoodDTO(SleepMoodRowDTO entry) {
         SleepMoodDTO dto = new SleepMoodDTO();
-        dto.setId(entry.getId());
-        dto.setSleepHours(entry.getSleepHours());
-        dto.setMood(entry.getMood());
-        dto.setStressLevel(entry.getStressLevel());
-        dto.setDate(entry.getDate());
+        dto.setId(entry.id());
+        dto.setSleepHours(entry.sleepHours());
+        dto.setMood(entry.mood());
+        dto.setStressLevel(entry.stressLevel());
+        dto.setDate(entry.date());
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public TrainerProfileDTO getAssignedTrainer(String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        User trainer = user.getAssignedTrainer();
+        return trainerProfileOf(user.getAssignedTrainer());
+    }
 
+    private TrainerProfileDTO trainerProfileOf(User trainer) {
         if (trainer == null)
             return null;
 
@@ -339,9 +387,11 @@ public class UserService {
 
         if (user != null) {
             streakService.updateStreak(user, LocalDate.now());
+            refreshDay(user, workout.getWorkoutDate());
         }
     }
 
+    @Transactional(readOnly = true)
     public NutritionDetailsDTO getNutritionByDate(String username, LocalDate date) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         WeeklyPlanResponseDTO planDto = getLatestWeeklyPlan(username);
@@ -390,53 +440,174 @@ public class UserService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public DashboardSummaryDTO getDashboardSummary(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        return getDashboardSummary(username, startDate, endDate, DashboardSection.ALL, DashboardGranularity.DAY);
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardSummaryDTO getDashboardSummary(String username, LocalDate startDate, LocalDate endDate,
+            Set<DashboardSection> sections, DashboardGranularity granularity) {
         // If no dates provided, default to today
-        if (startDate == null)
-            startDate = LocalDate.now();
-        if (endDate == null)
-            endDate = startDate;
+        LocalDate start = startDate != null ? startDate : LocalDate.now();
+        LocalDate end = endDate != null ? endDate : start;
+        DashboardGranularity resolved = granularity.resolve(start, end);
+        return dashboardCache.get(username, start, end, sections, resolved, () -> loadForCache(
+                () -> retainSections(buildDashboardSummary(username, start, end, sections, resolved), sections)));
+    }
 
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+    // Dashboards for many users at once, keyed by username in input order. Cached entries are reused and
+    // the rest come from one rollup range read for all of them.
+    @Transactional(readOnly = true)
+    public Map<String, DashboardSummaryDTO> getDashboardSummaries(List<User> users, LocalDate startDate,
+            LocalDate endDate, Set<DashboardSection> sections, DashboardGranularity granularity) {
+        LocalDate start = startDate != null ? startDate : LocalDate.now();
+        LocalDate end = endDate != null ? endDate : start;
+        DashboardGranularity resolved = granularity.resolve(start, end);
+        Map<String, User> byUsername = users.stream()
+                .collect(Collectors.toMap(User::getUsername, u -> u, (a, b) -> a, LinkedHashMap::new));
+
+        Map<String, DashboardSummaryDTO> found = dashboardCache.getAll(byUsername.keySet(), start, end, sections,
+                resolved, missing -> loadForCache(() -> buildDashboardSummaries(
+                        missing.stream().map(byUsername::get).toList(), start, end, sections, resolved)));
+
+        Map<String, DashboardSummaryDTO> summaries = new LinkedHashMap<>();
+        byUsername.keySet().forEach(username -> summaries.put(username, found.get(username)));
+        return summaries;
+    }
 
-        // 1. Workouts Calculation (WeeklyPlan + Ad-hoc)
-        long assignedWorkouts = workoutPlanRepository.countByUserAndWorkoutDateBetween(user, startDate, endDate);
-        long completedAssigned = workoutPlanRepository.countByUserAndWorkoutDateBetweenAndCompleted(user, startDate,
-                endDate, true);
+    private Map<String, DashboardSummaryDTO> buildDashboardSummaries(List<User> users, LocalDate startDate,
+            LocalDate endDate, Set<DashboardSection> sections, DashboardGranularity granularity) {
+        Map<String, DashboardSummaryDTO> summaries = new LinkedHashMap<>();
+        if (!rollupEnabled) {
+            users.forEach(user -> summaries.put(user.getUsername(), retainSections(
+                    buildDashboardSummary(user.getUsername(), startDate, endDate, sections, granularity), sections)));
+            return summaries;
+        }
 
-        long adHocWorkouts = workoutRepository.countByUserAndDateBetween(user, startDate, endDate);
+        Map<Long, List<DailyUserStats>> rowsByUser = needsRollupRows(sections)
+                ? dailyUserStatsRepository.findByUserInAndStatsDateBetweenOrderByStatsDateAsc(users, startDate, endDate)
+                        .stream().collect(Collectors.groupingBy(row -> row.getUser().getId()))
+                : Map.of();
+        // Roster members usually share a trainer, so each profile is built once
+        Map<Long, TrainerProfileDTO> trainers = new HashMap<>();
+
+        for (User user : users) {
+            User assigned = user.getAssignedTrainer();
+            TrainerProfileDTO trainer = sections.contains(DashboardSection.TRAINER) && assigned != null
+                    ? trainers.computeIfAbsent(assigned.getId(), id -> trainerProfileOf(assigned))
+                    : null;
+            DashboardSummaryDTO summary = summarizeRollup(user, rowsByUser.getOrDefault(user.getId(), List.of()),
+                    trainer, startDate, endDate, sections, granularity);
+            summaries.put(user.getUsername(), retainSections(summary, sections));
+        }
+        return summaries;
+    }
 
-        long totalWorkouts = assignedWorkouts + adHocWorkouts;
-        long completedWorkouts = completedAssigned + adHocWorkouts;
+    private DashboardSummaryDTO buildDashboardSummary(String username, LocalDate startDate, LocalDate endDate,
+            Set<DashboardSection> sections, DashboardGranularity granularity) {
+        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
 
-        // 2. Sleep Calculation
+        if (rollupEnabled)
+            return getDashboardSummaryFromRollup(user, username, startDate, endDate, sections, granularity);
+
+        boolean workouts = sections.contains(DashboardSection.WORKOUTS);
+        boolean sleep = sections.contains(DashboardSection.SLEEP);
+        boolean nutrition = sections.contains(DashboardSection.NUTRITION);
+        boolean targets = sections.contains(DashboardSection.TARGETS);
+        boolean charts = sections.contains(DashboardSection.DAILY_STATS);
+
+        // Sections are independent; with parallel-enabled each one loads on its own thread.
+        // Sections nobody asked for are never queried.
+        CompletableFuture<TrainerProfileDTO> trainerSection = sections.contains(DashboardSection.TRAINER)
+                ? section(() -> getAssignedTrainer(username))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<SleepMood>> sleepSection = (sleep && !aggregateQueryEnabled) || charts
+                ? section(() -> userProfileRepository.findByUser(user)
+                        .map(profile -> sleepMoodRepository.findByProfileAndDateBetween(profile, startDate, endDate))
+                        .orElse(List.of()))
+                : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<List<NutritionLog>> nutritionSection = (nutrition && !aggregateQueryEnabled) || charts
+                ? section(() -> nutritionLogRepository.findByUserAndNutritionDateBetween(user, startDate, endDate))
+                : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<List<NutritionAssignment>> targetSection = targets
+                ? section(() -> nutritionAssignmentRepository.findByWeeklyPlan_UserAndNutritionDateBetween(user,
+                        startDate, endDate))
+                : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<List<WorkoutPlan>> planSection = charts
+                ? section(() -> workoutPlanRepository.findByUserAndWorkoutDateBetween(user, startDate, endDate))
+                : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<List<Workout>> workoutSection = charts
+                ? section(() -> workoutRepository.findByUserAndDateBetween(user, startDate, endDate))
+                : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<DashboardTotalsDTO> totalsSection = aggregateQueryEnabled && (workouts || sleep || nutrition)
+                ? section(() -> userRepository.findDashboardTotals(user, startDate, endDate))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<WorkoutCounts> countSection = aggregateQueryEnabled || !workouts
+                ? CompletableFuture.completedFuture(null)
+                : section(() -> new WorkoutCounts(
+                        workoutPlanRepository.countByUserAndWorkoutDateBetween(user, startDate, endDate),
+                        workoutPlanRepository.countByUserAndWorkoutDateBetweenAndCompleted(user, startDate,
+                                endDate, true),
+                        workoutRepository.countByUserAndDateBetween(user, startDate, endDate)));
+
+        List<SleepMood> sleepLogs = join(sleepSection);
+        List<NutritionLog> nutritionLogs = join(nutritionSection);
+
+        long totalWorkouts = 0, completedWorkouts = 0;
         double avgSleep = 0;
         double todaySleep = 0;
         String latestMood = "Neutral";
-        if (profile != null) {
-            List<SleepMood> sleepLogs = sleepMoodRepository.findByProfileAndDateBetween(profile, startDate, endDate);
+        boolean nutritionLogged = false;
+        double calCons = 0, pCons = 0, cCons = 0, fCons = 0, waterCons = 0;
+        int stepsCons = 0;
+
+        DashboardTotalsDTO totals = join(totalsSection);
+        if (totals != null) {
+            // 1-3. Workout counts, sleep and nutrition totals in one round trip
+            totalWorkouts = totals.workoutsAssigned() + totals.adHocWorkouts();
+            completedWorkouts = totals.workoutsCompleted() + totals.adHocWorkouts();
+            if (totals.avgSleep() != null) {
+                avgSleep = totals.avgSleep();
+                latestMood = totals.latestMood();
+                todaySleep = totals.latestSleep() != null ? totals.latestSleep() : 0;
+            }
+            nutritionLogged = totals.nutritionLogs() > 0;
+            calCons = totals.caloriesConsumed();
+            pCons = totals.proteinConsumed();
+            cCons = totals.carbsConsumed();
+            fCons = totals.fatsConsumed();
+            waterCons = totals.waterIntake();
+            stepsCons = (int) totals.steps();
+        } else if (!aggregateQueryEnabled) {
+            // 1. Workouts Calculation (WeeklyPlan + Ad-hoc)
+            WorkoutCounts counts = join(countSection);
+            if (counts != null) {
+                totalWorkouts = counts.assigned() + counts.adHoc();
+                completedWorkouts = counts.completedAssigned() + counts.adHoc();
+            }
+
+            // 2. Sleep Calculation
             if (!sleepLogs.isEmpty()) {
-                avgSleep = sleepLogs.stream().mapToDouble(SleepMood::getSleepHours).average().orElse(0);
-                SleepMood latest = sleepLogs.get(sleepLogs.size() - 1);
+                avgSleep = sleepLogs.stream()
+                        .mapToDouble(s -> s.getSleepHours() != null ? s.getSleepHours() : 0)
+                        .average().orElse(0);
+                SleepMood latest = sleepLogs.stream().max(java.util.Comparator.comparing(SleepMood::getDate))
+                        .orElseThrow();
                 latestMood = latest.getMood();
-                todaySleep = latest.getSleepHours();
+                todaySleep = latest.getSleepHours() != null ? latest.getSleepHours() : 0;
             }
-        }
 
-        // 3. Nutrition Calculation
-        List<NutritionLog> nutritionLogs = nutritionLogRepository.findByUserAndNutritionDateBetween(user, startDate,
-                endDate);
-        double calCons = 0, pCons = 0, cCons = 0, fCons = 0, waterCons = 0;
-        int stepsCons = 0;
-
-        for (NutritionLog log : nutritionLogs) {
-            calCons += (log.getCaloriesConsumed() != null ? log.getCaloriesConsumed() : 0);
-            pCons += (log.getProteinConsumed() != null ? log.getProteinConsumed() : 0);
-            cCons += (log.getCarbsConsumed() != null ? log.getCarbsConsumed() : 0);
-            fCons += (log.getFatsConsumed() != null ? log.getFatsConsumed() : 0);
-            waterCons += (log.getWaterIntake() != null ? log.getWaterIntake() : 0);
-            stepsCons += (log.getSteps() != null ? log.getSteps() : 0);
+            // 3. Nutrition Calculation
+            nutritionLogged = !nutritionLogs.isEmpty();
+            for (NutritionLog log : nutritionLogs) {
+                calCons += (log.getCaloriesConsumed() != null ? log.getCaloriesConsumed() : 0);
+                pCons += (log.getProteinConsumed() != null ? log.getProteinConsumed() : 0);
+                cCons += (log.getCarbsConsumed() != null ? log.getCarbsConsumed() : 0);
+                fCons += (log.getFatsConsumed() != null ? log.getFatsConsumed() : 0);
+                waterCons += (log.getWaterIntake() != null ? log.getWaterIntake() : 0);
+                stepsCons += (log.getSteps() != null ? log.getSteps() : 0);
+            }
         }
 
         // Calculate Targets
@@ -444,13 +615,12 @@ public class UserService {
         int stepsTarget = 0;
 
         // Efficiently fetch all relevant plans and assignments in the range
-        List<NutritionAssignment> allAssignments = nutritionAssignmentRepository
-                .findByWeeklyPlan_UserAndNutritionDateBetween(user, startDate, endDate);
+        List<NutritionAssignment> allAssignments = join(targetSection);
 
         Map<LocalDate, NutritionAssignment> assignmentMap = allAssignments.stream()
                 .collect(Collectors.toMap(NutritionAssignment::getNutritionDate, na -> na, (a, b) -> a));
 
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+        for (LocalDate date = startDate; targets && !date.isAfter(endDate); date = date.plusDays(1)) {
             NutritionAssignment target = assignmentMap.get(date);
 
             if (target != null) {
@@ -458,73 +628,132 @@ public class UserService {
                 pTarget += (target.getProteinTarget() != null ? target.getProteinTarget() : 0.0);
                 cTarget += (target.getCarbsTarget() != null ? target.getCarbsTarget() : 0.0);
                 fTarget += (target.getFatsTarget() != null ? target.getFatsTarget() : 0.0);
-                waterTarget += 3.0;
-                stepsTarget += 10000;
+                waterTarget += DailyStatsRollupService.DEFAULT_WATER_TARGET;
+                stepsTarget += DailyStatsRollupService.DEFAULT_STEPS_TARGET;
             } else {
-                calTarget += 2000.0;
-                pTarget += 150.0;
-                cTarget += 300.0;
-                fTarget += 70.0;
-                waterTarget += 3.0;
-                stepsTarget += 10000;
+                calTarget += DailyStatsRollupService.DEFAULT_CALORIES_TARGET;
+                pTarget += DailyStatsRollupService.DEFAULT_PROTEIN_TARGET;
+                cTarget += DailyStatsRollupService.DEFAULT_CARBS_TARGET;
+                fTarget += DailyStatsRollupService.DEFAULT_FATS_TARGET;
+                waterTarget += DailyStatsRollupService.DEFAULT_WATER_TARGET;
+                stepsTarget += DailyStatsRollupService.DEFAULT_STEPS_TARGET;
             }
         }
 
-        // 4. Daily Stats for Charting (Bulk optimize)
-        List<SleepMood> sleepLogsInRange = profile != null
-                ? sleepMoodRepository.findByProfileAndDateBetween(profile, startDate, endDate)
+        // 4. Daily Stats for Charting, one pass per source list
+        List<DailyStatsDTO> dailyStats = charts
+                ? new DailySeries(startDate, endDate)
+                        .addNutritionLogs(nutritionLogs)
+                        .addSleep(sleepLogs)
+                        .addWorkoutPlans(join(planSection))
+                        .addWorkouts(join(workoutSection))
+                        .toDailyStats(granularity)
+                : null;
+
+        return DashboardSummaryDTO.builder()
+                .totalWorkouts(totalWorkouts)
+                .completedWorkouts(completedWorkouts)
+                .percentage(calculationService.calculatePercentage(completedWorkouts, totalWorkouts))
+                .streak(streakService.getCurrentVisibleStreak(user))
+                .trainer(join(trainerSection))
+                .avgSleep(calculationService.roundToDecimals(avgSleep, 1))
+                .todaySleep(todaySleep)
+                .mood(latestMood)
+                .isNutritionLogged(nutritionLogged)
+                .caloriesConsumed(calCons)
+                .caloriesTarget(calTarget)
+                .proteinConsumed(pCons)
+                .proteinTarget(pTarget)
+                .carbsConsumed(cCons)
+                .carbsTarget(cTarget)
+                .fatsConsumed(fCons)
+                .fatsTarget(fTarget)
+                .water(waterCons)
+                .waterTarget(waterTarget)
+                .steps(stepsCons)
+                .stepsTarget(stepsTarget)
+                .dailyStats(dailyStats)
+                .build();
+    }
+
+    private DashboardSummaryDTO getDashboardSummaryFromRollup(User user, String username, LocalDate startDate,
+            LocalDate endDate, Set<DashboardSection> sections, DashboardGranularity granularity) {
+        CompletableFuture<TrainerProfileDTO> trainerSection = sections.contains(DashboardSection.TRAINER)
+                ? section(() -> getAssignedTrainer(username))
+                : CompletableFuture.completedFuture(null);
+        // One indexed range read; days without a row have no activity and default targets
+        List<DailyUserStats> rows = needsRollupRows(sections)
+                ? join(section(() -> dailyUserStatsRepository
+                        .findByUserAndStatsDateBetweenOrderByStatsDateAsc(user, startDate, endDate)))
                 : List.of();
+        return summarizeRollup(user, rows, join(trainerSection), startDate, endDate, sections, granularity);
+    }
 
-        Map<LocalDate, SleepMood> sleepMap = sleepLogsInRange.stream()
-                .collect(Collectors.toMap(SleepMood::getDate, s -> s, (a, b) -> a));
+    // Streak and trainer come from elsewhere, so a request for only those needs no rollup rows
+    private static boolean needsRollupRows(Set<DashboardSection> sections) {
+        return sections.stream().anyMatch(s -> s != DashboardSection.STREAK && s != DashboardSection.TRAINER);
+    }
 
-        List<WorkoutPlan> workoutPlansInRange = workoutPlanRepository.findByUserAndWorkoutDateBetween(user, startDate,
-                endDate);
-        Map<LocalDate, List<WorkoutPlan>> workoutMapByDate = workoutPlansInRange.stream()
-                .collect(Collectors.groupingBy(WorkoutPlan::getWorkoutDate));
-
-        List<Workout> adHocInRange = workoutRepository.findByUserAndDateBetween(user, startDate, endDate);
-        Map<LocalDate, Long> adHocCountByDate = adHocInRange.stream()
-                .collect(Collectors.groupingBy(Workout::getDate, Collectors.counting()));
-
-        List<DailyStatsDTO> dailyStats = new java.util.ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            final LocalDate currentDate = date;
-            NutritionLog dailyLog = nutritionLogs.stream()
-                    .filter(l -> l.getNutritionDate().equals(currentDate))
-                    .findFirst().orElse(null);
-
-            SleepMood dailySleep = sleepMap.get(currentDate);
-
-            long dailyWorkoutsCount = workoutMapByDate.getOrDefault(currentDate, List.of()).stream()
-                    .filter(WorkoutPlan::isCompleted)
-                    .count() + adHocCountByDate.getOrDefault(currentDate, 0L);
-
-            dailyStats.add(DailyStatsDTO.builder()
-                    .caloriesConsumed(dailyLog != null
-                            ? (dailyLog.getCaloriesConsumed() != null ? dailyLog.getCaloriesConsumed() : 0)
-                            : 0)
-                    .waterConsumed(
-                            dailyLog != null ? (dailyLog.getWaterIntake() != null ? dailyLog.getWaterIntake() : 0) : 0)
-                    .sleepHours(
-                            dailySleep != null ? (dailySleep.getSleepHours() != null ? dailySleep.getSleepHours() : 0)
-                                    : 0)
-                    .workoutsCompleted((int) dailyWorkoutsCount)
-                    .steps(dailyLog != null ? (dailyLog.getSteps() != null ? dailyLog.getSteps() : 0) : 0)
-                    .date(currentDate)
-                    .build());
+    private DashboardSummaryDTO summarizeRollup(User user, List<DailyUserStats> rows, TrainerProfileDTO trainer,
+            LocalDate startDate, LocalDate endDate, Set<DashboardSection> sections, DashboardGranularity granularity) {
+        long totalWorkouts = 0, completedWorkouts = 0;
+        double sleepSum = 0, todaySleep = 0;
+        int sleepDays = 0;
+        String latestMood = "Neutral";
+        boolean nutritionLogged = false;
+        double calCons = 0, pCons = 0, cCons = 0, fCons = 0, waterCons = 0;
+        int stepsCons = 0;
+        double calTarget = 0, pTarget = 0, cTarget = 0, fTarget = 0, waterTarget = 0;
+        int stepsTarget = 0;
+
+        for (DailyUserStats row : rows) {
+            totalWorkouts += row.getWorkoutsAssigned() + row.getAdHocWorkouts();
+            completedWorkouts += row.getWorkoutsCompleted() + row.getAdHocWorkouts();
+            if (row.isSleepLogged()) {
+                sleepSum += row.getSleepHours();
+                sleepDays++;
+                todaySleep = row.getSleepHours();
+                latestMood = row.getMood();
+            }
+            nutritionLogged |= row.isNutritionLogged();
+            calCons += row.getCaloriesConsumed();
+            pCons += row.getProteinConsumed();
+            cCons += row.getCarbsConsumed();
+            fCons += row.getFatsConsumed();
+            waterCons += row.getWaterIntake();
+            stepsCons += row.getSteps();
+            calTarget += row.getCaloriesTarget();
+            pTarget += row.getProteinTarget();
+            cTarget += row.getCarbsTarget();
+            fTarget += row.getFatsTarget();
+            waterTarget += row.getWaterTarget();
+            stepsTarget += row.getStepsTarget();
         }
 
+        long days = Math.max(0, java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        long emptyDays = days - rows.size();
+        calTarget += emptyDays * DailyStatsRollupService.DEFAULT_CALORIES_TARGET;
+        pTarget += emptyDays * DailyStatsRollupService.DEFAULT_PROTEIN_TARGET;
+        cTarget += emptyDays * DailyStatsRollupService.DEFAULT_CARBS_TARGET;
+        fTarget += emptyDays * DailyStatsRollupService.DEFAULT_FATS_TARGET;
+        waterTarget += emptyDays * DailyStatsRollupService.DEFAULT_WATER_TARGET;
+        stepsTarget += emptyDays * DailyStatsRollupService.DEFAULT_STEPS_TARGET;
+
+        List<DailyStatsDTO> dailyStats = sections.contains(DashboardSection.DAILY_STATS)
+                ? new DailySeries(startDate, endDate).addRollup(rows).toDailyStats(granularity)
+                : null;
+
+        double avgSleep = sleepDays > 0 ? sleepSum / sleepDays : 0;
         return DashboardSummaryDTO.builder()
                 .totalWorkouts(totalWorkouts)
                 .completedWorkouts(completedWorkouts)
                 .percentage(calculationService.calculatePercentage(completedWorkouts, totalWorkouts))
                 .streak(streakService.getCurrentVisibleStreak(user))
-                .trainer(getAssignedTrainer(username))
+                .trainer(trainer)
                 .avgSleep(calculationService.roundToDecimals(avgSleep, 1))
                 .todaySleep(todaySleep)
                 .mood(latestMood)
-                .isNutritionLogged(!nutritionLogs.isEmpty())
+                .isNutritionLogged(nutritionLogged)
                 .caloriesConsumed(calCons)
                 .caloriesTarget(calTarget)
                 .proteinConsumed(pCons)
@@ -541,6 +770,72 @@ public class UserService {
                 .build();
     }
 
+    // Resets every field of the sections that were not requested, so the response shape does not
+    // depend on which loading path produced it
+    private DashboardSummaryDTO retainSections(DashboardSummaryDTO summary, Set<DashboardSection> sections) {
+        if (!sections.contains(DashboardSection.WORKOUTS)) {
+            summary.setTotalWorkouts(0);
+            summary.setCompletedWorkouts(0);
+            summary.setPercentage(0);
+        }
+        if (!sections.contains(DashboardSection.STREAK))
+            summary.setStreak(0);
+        if (!sections.contains(DashboardSection.SLEEP)) {
+            summary.setAvgSleep(0);
+            summary.setTodaySleep(0);
+            summary.setMood(null);
+        }
+        if (!sections.contains(DashboardSection.NUTRITION)) {
+            summary.setNutritionLogged(false);
+            summary.setCaloriesConsumed(0);
+            summary.setProteinConsumed(0);
+            summary.setCarbsConsumed(0);
+            summary.setFatsConsumed(0);
+            summary.setWater(0);
+            summary.setSteps(0);
+        }
+        if (!sections.contains(DashboardSection.TARGETS)) {
+            summary.setCaloriesTarget(0);
+            summary.setProteinTarget(0);
+            summary.setCarbsTarget(0);
+            summary.setFatsTarget(0);
+            summary.setWaterTarget(0);
+            summary.setStepsTarget(0);
+        }
+        return summary;
+    }
+
+    // Dashboards are cached against the data version, which lives on the primary, so they are built from
+    // the primary too. The caller's transaction may already be reading a replica, hence a new one.
+    private <T> T loadForCache(Supplier<T> loader) {
+        if (!routingEnabled)
+            return loader.get();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return ReplicaRoutingDataSource.onPrimary(() -> transaction.execute(status -> loader.get()));
+    }
+
+    // Runs inline in the caller's transaction, or on the dashboard executor in a read-only transaction of its own
+    private <T> CompletableFuture<T> section(Supplier<T> loader) {
+        if (!parallelEnabled)
+            return CompletableFuture.completedFuture(loader.get());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return CompletableFuture.supplyAsync(() -> transaction.execute(status -> loader.get()), dashboardExecutor);
+    }
+
+    private static <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    @Transactional(readOnly = true)
     public WeeklyPlanResponseDTO getLatestWeeklyPlan(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -579,6 +874,23 @@ public class UserService {
         return dto;
     }
 
+    private WorkoutResponseDTO mapPlanRowToDTO(WorkoutPlanRowDTO workout) {
+        WorkoutResponseDTO dto = new WorkoutResponseDTO();
+        dto.setId(workout.id());
+        dto.setWorkoutName(workout.workoutName());
+        dto.setExerciseName(workout.workoutName()); // Alias
+        dto.setSets(workout.sets());
+        dto.setReps(workout.reps());
+        dto.setTargetReps(workout.reps()); // Alias
+        dto.setDuration(workout.duration());
+        dto.setTargetTime(workout.duration()); // Alias
+        dto.setWorkoutDate(workout.workoutDate());
+        dto.setDate(workout.workoutDate()); // Frontend expected field
+        dto.setCompleted(workout.completed());
+        dto.setPlan(true);
+        return dto;
+    }
+
     private NutritionAssignmentDTO mapToNutritionAssignmentDTO(NutritionAssignment assignment) {
         NutritionAssignmentDTO dto = new NutritionAssignmentDTO();
         dto.setId(assignment.getId());
@@ -0,0 +1,29 @@
+-- Per-user daily rollup read by the dashboards (DailyStatsRollupService)
+
+create table daily_user_stats (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    stats_date date,
+    nutrition_logged bit not null,
+    calories_consumed float(53) not null,
+    protein_consumed float(53) not null,
+    carbs_consumed float(53) not null,
+    fats_consumed float(53) not null,
+    water_intake float(53) not null,
+    steps integer not null,
+    sleep_logged bit not null,
+    sleep_hours float(53) not null,
+    mood varchar(255),
+    workouts_assigned integer not null,
+    workouts_completed integer not null,
+    ad_hoc_workouts integer not null,
+    calories_target float(53) not null,
+    protein_target float(53) not null,
+    carbs_target float(53) not null,
+    fats_target float(53) not null,
+    water_target float(53) not null,
+    steps_target integer not null,
+    primary key (id),
+    constraint uk_daily_user_stats_user_date unique (user_id, stats_date),
+    constraint fk_daily_user_stats_user foreign key (user_id) references users (id) on delete cascade
+) engine=InnoDB;
@@ -0,0 +1,2 @@
+-- Per-user version behind the ETags; existing users start at 0
+alter table users add column data_version bigint not null default 0;
@@ -0,0 +1,2 @@
+-- Carried in issued access tokens; bumping it revokes them. Existing users start at 0
+alter table users add column token_version bigint not null default 0;
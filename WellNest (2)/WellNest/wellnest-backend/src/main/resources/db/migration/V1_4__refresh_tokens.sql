@@ -0,0 +1,16 @@
+-- Rotating refresh tokens (RefreshTokenService)
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    token_hash varchar(64) not null,
+    family_id varchar(36) not null,
+    token_version bigint not null,
+    expires_at datetime(6) not null,
+    revoked bit not null,
+    primary key (id),
+    constraint uk_refresh_tokens_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
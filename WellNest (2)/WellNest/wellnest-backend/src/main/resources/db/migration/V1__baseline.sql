@@ -0,0 +1,154 @@
+-- Schema as produced by spring.jpa.hibernate.ddl-auto=update before migrations were introduced.
+-- Existing databases are baselined at this version and skip it; everything added since is a later version.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('USER','TRAINER','ADMIN') not null,
+    trainer_id bigint,
+    current_streak integer,
+    last_activity_date date,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint fk_users_trainer foreign key (trainer_id) references users (id)
+) engine=InnoDB;
+
+create table user_profiles (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    full_name varchar(255),
+    age integer,
+    gender varchar(255),
+    height float(53),
+    weight float(53),
+    fitness_goal varchar(255),
+    target_weight float(53),
+    target_time_weeks integer,
+    medical_notes varchar(255),
+    primary key (id),
+    constraint uk_user_profiles_user unique (user_id),
+    constraint fk_user_profiles_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table trainer_profiles (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    specialization varchar(255),
+    experience_years integer,
+    available_hours_per_day integer,
+    primary key (id),
+    constraint uk_trainer_profiles_user unique (user_id),
+    constraint fk_trainer_profiles_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table assignments (
+    id bigint not null auto_increment,
+    trainer_id bigint not null,
+    user_id bigint not null,
+    assigned_date date,
+    primary key (id),
+    constraint fk_assignments_trainer foreign key (trainer_id) references users (id),
+    constraint fk_assignments_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table blog_posts (
+    id bigint not null auto_increment,
+    author_id bigint not null,
+    title varchar(255) not null,
+    content TEXT not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint fk_blog_posts_author foreign key (author_id) references users (id)
+) engine=InnoDB;
+
+create table tips (
+    id bigint not null auto_increment,
+    content varchar(1000) not null,
+    active bit not null,
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table nutrition_logs (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    nutrition_date date,
+    calories_consumed float(53),
+    protein_consumed float(53),
+    carbs_consumed float(53),
+    fats_consumed float(53),
+    water_intake float(53),
+    steps integer,
+    steps_target integer,
+    sleep_hours float(53),
+    mood varchar(255),
+    primary key (id),
+    constraint uk_nutrition_logs_user_date unique (user_id, nutrition_date),
+    constraint fk_nutrition_logs_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table sleep_mood (
+    id bigint not null auto_increment,
+    profile_id bigint not null,
+    date date,
+    sleep_hours DOUBLE PRECISION,
+    mood varchar(255),
+    stress_level integer,
+    primary key (id),
+    constraint uk_sleep_mood_profile_date unique (profile_id, date),
+    constraint fk_sleep_mood_profile foreign key (profile_id) references user_profiles (id)
+) engine=InnoDB;
+
+create table workout (
+    id bigint not null auto_increment,
+    user_id bigint,
+    name varchar(255),
+    category varchar(255),
+    duration_minutes integer,
+    calories_burned integer,
+    date date,
+    primary key (id),
+    constraint fk_workout_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table weekly_plan (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    trainer_id bigint,
+    week_start_date date,
+    locked bit not null,
+    primary key (id),
+    constraint fk_weekly_plan_user foreign key (user_id) references users (id),
+    constraint fk_weekly_plan_trainer foreign key (trainer_id) references users (id)
+) engine=InnoDB;
+
+create table workout_plan (
+    id bigint not null auto_increment,
+    weekly_plan_id bigint,
+    user_id bigint,
+    workout_name varchar(255),
+    sets integer,
+    reps integer,
+    duration varchar(255),
+    workout_date date,
+    completed bit not null,
+    completed_date date,
+    primary key (id),
+    constraint fk_workout_plan_weekly_plan foreign key (weekly_plan_id) references weekly_plan (id),
+    constraint fk_workout_plan_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table nutrition_assignment (
+    id bigint not null auto_increment,
+    weekly_plan_id bigint,
+    nutrition_date date,
+    calories_target float(53),
+    protein_target float(53),
+    carbs_target float(53),
+    fats_target float(53),
+    primary key (id),
+    constraint fk_nutrition_assignment_weekly_plan foreign key (weekly_plan_id) references weekly_plan (id)
+) engine=InnoDB;
@@ -0,0 +1,22 @@
+-- Composite indexes for the per-user date-range lookups in com.wellnest.repository.
+-- nutrition_logs (user_id, nutrition_date), sleep_mood (profile_id, date) and
+-- daily_user_stats (user_id, stats_date) are already covered by their unique keys.
+
+-- WorkoutRepository: findByUserAndDate, countByUserAndDateBetween, streamDailyCounts
+create index idx_workout_user_date on workout (user_id, date);
+
+-- WorkoutPlanRepository: count/findByUserAndWorkoutDateBetween[AndCompleted], streamDailyCompletedCounts;
+-- completed is the last key part so the counts are answered from the index alone
+create index idx_workout_plan_user_date_completed on workout_plan (user_id, workout_date, completed);
+
+-- WorkoutPlanRepository: findByWeeklyPlan_UserAndWorkoutDate[Between] after the weekly_plan join
+create index idx_workout_plan_weekly_plan_date on workout_plan (weekly_plan_id, workout_date);
+
+-- WeeklyPlanRepository: findByUserAndWeekStartDate, findTopByUserOrderByWeekStartDateDesc
+create index idx_weekly_plan_user_week on weekly_plan (user_id, week_start_date);
+
+-- NutritionAssignmentRepository: findByWeeklyPlan[_Id]AndNutritionDate, findByWeeklyPlan_UserAndNutritionDateBetween
+create index idx_nutrition_assignment_plan_date on nutrition_assignment (weekly_plan_id, nutrition_date);
+
+-- RefreshTokenRepository: deleteExpired
+create index idx_refresh_tokens_user_expiry on refresh_tokens (user_id, expires_at);
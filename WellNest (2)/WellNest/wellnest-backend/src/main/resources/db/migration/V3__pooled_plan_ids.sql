@@ -0,0 +1,19 @@
+-- workout_plan and nutrition_assignment take ids from a pooled table generator
+-- (allocation size 50) instead of auto_increment, so their inserts can be batched.
+
+create table id_generators (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+-- The stored value is the top of the next block of 50, so start one full block above the current max
+insert into id_generators (sequence_name, next_val)
+select 'workout_plan', coalesce(max(id), 0) + 50 from workout_plan;
+
+insert into id_generators (sequence_name, next_val)
+select 'nutrition_assignment', coalesce(max(id), 0) + 50 from nutrition_assignment;
+
+alter table workout_plan modify id bigint not null;
+
+alter table nutrition_assignment modify id bigint not null;
@@ -0,0 +1,172 @@
+package com.wellnest.config;
+
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.dto.WeeklyPlanRequest;
+import com.wellnest.entity.Role;
+import com.wellnest.repository.UserRepository;
+import com.wellnest.service.AuthService;
+import com.wellnest.service.TrainerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against the local-replica profile: two H2 databases and nothing copying rows between them, so a
+// read that reaches the replica misses every write, and one served by the primary sees it
+@SpringBootTest(properties = "wellnest.datasource.replica.sticky-seconds=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("local-replica")
+class ReplicaRoutingTest {
+
+    private static final long STICKY_WINDOW_MILLIS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Test
+    void writerReadsItsOwnWritesUntilTheStickyWindowEnds() throws Exception {
+        String athlete = register("routing-athlete", Role.USER);
+
+        long replicaRoutes = routes("replicaRoutes");
+        mockMvc.perform(as(athlete, sleepMood()));
+        assertThat(routes("replicaRoutes")).isGreaterThan(replicaRoutes);
+
+        mockMvc.perform(as(athlete, post("/api/user/sleep-mood")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sleepHours\": 7.5, \"mood\": \"Calm\", \"stressLevel\": 2, \"date\": \""
+                        + LocalDate.now() + "\"}")))
+                .andExpect(status().isOk());
+
+        long stickyRoutes = routes("stickyRoutes");
+        mockMvc.perform(as(athlete, sleepMood()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sleepHours").value(7.5));
+        assertThat(routes("stickyRoutes")).isGreaterThan(stickyRoutes);
+
+        // Afterwards the replica is read again, and it never received the entry
+        Thread.sleep(STICKY_WINDOW_MILLIS + 500);
+        replicaRoutes = routes("replicaRoutes");
+        mockMvc.perform(as(athlete, sleepMood()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        assertThat(routes("replicaRoutes")).isGreaterThan(replicaRoutes);
+    }
+
+    @Test
+    void writeByATrainerKeepsTheAthleteOnThePrimary() throws Exception {
+        String athlete = register("routing-athlete", Role.USER);
+        assignPlan(register("routing-trainer", Role.TRAINER), athlete);
+
+        long stickyRoutes = routes("stickyRoutes");
+        mockMvc.perform(as(athlete, sleepMood())).andExpect(status().isOk());
+        assertThat(routes("stickyRoutes")).isGreaterThan(stickyRoutes);
+    }
+
+    @Test
+    void taggedDashboardIsBuiltFromThePrimary() throws Exception {
+        String athlete = register("routing-athlete", Role.USER);
+        assignPlan(register("routing-trainer", Role.TRAINER), athlete);
+        Thread.sleep(STICKY_WINDOW_MILLIS + 500);
+
+        // Outside the sticky window the athlete's reads go to the replica, which has no plan; the
+        // dashboard and its tag are read from the primary regardless
+        long pinnedRoutes = routes("pinnedRoutes");
+        String etag = mockMvc.perform(as(athlete, dashboard()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalWorkouts").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(routes("pinnedRoutes")).isGreaterThan(pinnedRoutes);
+
+        // A version only the primary has seen changes the tag, so the old one is no longer revalidated
+        new JdbcTemplate(primaryDataSource)
+                .update("update users set data_version = data_version + 1 where username = ?", athlete);
+        String changed = mockMvc.perform(as(athlete, dashboard()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+        mockMvc.perform(as(athlete, dashboard()).header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isNotModified());
+    }
+
+    private void assignPlan(String trainer, String athlete) {
+        WeeklyPlanRequest.WorkoutItem workout = new WeeklyPlanRequest.WorkoutItem();
+        workout.setWorkoutName("Squats");
+        workout.setSets(3);
+        workout.setReps(10);
+        WeeklyPlanRequest plan = new WeeklyPlanRequest();
+        plan.setWeekStartDate(LocalDate.now());
+        plan.setWorkouts(List.of(workout));
+
+        Long athleteId = ReplicaRoutingDataSource.onPrimary(
+                () -> userRepository.findByUsername(athlete).orElseThrow().getId());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(trainer, null, List.of()));
+        try {
+            trainerService.assignWeeklyPlan(trainer, athleteId, plan);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private long routes(String counter) {
+        return (long) replicaRoutingDataSource.getStats().get(counter);
+    }
+
+    private static MockHttpServletRequestBuilder sleepMood() {
+        return get("/api/user/sleep-mood").param("date", LocalDate.now().toString());
+    }
+
+    private static MockHttpServletRequestBuilder dashboard() {
+        return get("/api/user/dashboard");
+    }
+
+    private static MockHttpServletRequestBuilder as(String username, MockHttpServletRequestBuilder request) {
+        return request.with(user(username).roles("USER"));
+    }
+
+    private String register(String prefix, Role role) {
+        String username = prefix + "-" + System.nanoTime();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(role);
+        authService.register(request);
+        return username;
+    }
+}
@@ -0,0 +1,91 @@
+package com.wellnest.controller;
+
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.entity.Role;
+import com.wellnest.service.AuthService;
+import com.wellnest.service.PasswordVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthLoginTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Test
+    void unknownUserAndWrongPasswordGetTheSameAnswer() throws Exception {
+        String username = register();
+
+        String wrongPassword = login(username, "not-the-password")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Bad credentials"))
+                .andReturn().getResponse().getContentAsString();
+        String unknownUser = login(username + "-missing", "not-the-password")
+                .andExpect(status().isUnauthorized())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(unknownUser).isEqualTo(wrongPassword);
+    }
+
+    @Test
+    void unknownUserIsCheckedOnTheVerifierPool() throws Exception {
+        long verified = (long) passwordVerifier.getStats().get("verified");
+
+        login("nobody-" + System.nanoTime(), "secret123").andExpect(status().isUnauthorized());
+
+        assertThat((long) passwordVerifier.getStats().get("verified")).isEqualTo(verified + 1);
+    }
+
+    @Test
+    void correctPasswordIssuesTokens() throws Exception {
+        String username = register();
+
+        login(username, "secret123")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(username));
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password
+                        + "\", \"role\": \"USER\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private String register() {
+        String username = "login-" + System.nanoTime();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(Role.USER);
+        authService.register(request);
+        return username;
+    }
+}
@@ -0,0 +1,39 @@
+package com.wellnest.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaMigrationTest {
+
+    // A database created by ddl-auto=update before migrations existed: no history table, only the V1 schema
+    @Test
+    void preexistingDatabaseIsBaselinedAndUpgraded() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:wellnest_pre_migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into users (username, email, password, role, current_streak) "
+                + "values ('existing', 'existing@wellnest.test', 'x', 'USER', 4)");
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+
+        assertThat(jdbc.queryForObject(
+                "select data_version + token_version from users where username = 'existing'", Long.class))
+                .isZero();
+        assertThat(jdbc.queryForObject("select count(*) from refresh_tokens", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from daily_user_stats", Long.class)).isZero();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("3");
+    }
+}
@@ -0,0 +1,74 @@
+package com.wellnest.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAIN on the per-user date-range reads behind the repositories, checking the planner picks the
+// composite indexes from V2. The plans come from H2 in MySQL mode, which names the chosen index in the
+// same way EXPLAIN's key column does on MySQL.
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeSeriesIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void workoutRangeReadsUseUserDateIndex() {
+        // WorkoutRepository.countByUserAndDateBetween, findByUserAndDateBetween
+        assertUses("select count(*) from workout where user_id = 1 and date between '2024-01-01' and '2024-01-07'",
+                "idx_workout_user_date");
+    }
+
+    @Test
+    void workoutPlanCountsUseCoveringIndex() {
+        // WorkoutPlanRepository.countByUserAndWorkoutDateBetweenAndCompleted
+        assertUses("select count(*) from workout_plan where user_id = 1"
+                + " and workout_date between '2024-01-01' and '2024-01-07' and completed = true",
+                "idx_workout_plan_user_date_completed");
+    }
+
+    @Test
+    void weeklyPlanJoinUsesPlanDateIndex() {
+        // WorkoutPlanRepository.findByWeeklyPlan_UserAndWorkoutDateBetween
+        assertUses("select wp.id from workout_plan wp join weekly_plan p on p.id = wp.weekly_plan_id"
+                + " where p.user_id = 1 and wp.workout_date between '2024-01-01' and '2024-01-07'",
+                "idx_workout_plan_weekly_plan_date");
+    }
+
+    @Test
+    void weeklyPlanLookupsUseUserWeekIndex() {
+        // WeeklyPlanRepository.findByUserAndWeekStartDate, findTopByUserOrderByWeekStartDateDesc
+        assertUses("select id from weekly_plan where user_id = 1 and week_start_date = '2024-01-01'",
+                "idx_weekly_plan_user_week");
+        assertUses("select id from weekly_plan where user_id = 1 order by week_start_date desc limit 1",
+                "idx_weekly_plan_user_week");
+    }
+
+    @Test
+    void nutritionAssignmentLookupsUsePlanDateIndex() {
+        // NutritionAssignmentRepository.findByWeeklyPlanAndNutritionDate
+        assertUses("select id from nutrition_assignment where weekly_plan_id = 1 and nutrition_date = '2024-01-01'",
+                "idx_nutrition_assignment_plan_date");
+        // NutritionAssignmentRepository.findByWeeklyPlan_UserAndNutritionDateBetween
+        assertUses("select na.id from nutrition_assignment na join weekly_plan p on p.id = na.weekly_plan_id"
+                + " where p.user_id = 1 and na.nutrition_date between '2024-01-01' and '2024-01-07'",
+                "idx_nutrition_assignment_plan_date");
+    }
+
+    @Test
+    void expiredRefreshTokenCleanupUsesUserExpiryIndex() {
+        // RefreshTokenRepository.deleteExpired
+        assertUses("delete from refresh_tokens where user_id = 1 and expires_at < '2024-01-01 00:00:00'",
+                "idx_refresh_tokens_user_expiry");
+    }
+
+    private void assertUses(String sql, String index) {
+        assertThat(jdbc.queryForObject("explain " + sql, String.class)).contains("public." + index + ":");
+    }
+}
@@ -0,0 +1,87 @@
+package com.wellnest.repository;
+
+import com.wellnest.entity.NutritionAssignment;
+import com.wellnest.entity.Role;
+import com.wellnest.entity.User;
+import com.wellnest.entity.WeeklyPlan;
+import com.wellnest.entity.WorkoutPlan;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A week of plan rows is written as one JDBC batch per table rather than a statement per row
+@SpringBootTest
+@ActiveProfiles("test")
+class WeeklyPlanBatchInsertTest {
+
+    private static final int WORKOUTS_PER_DAY = 3;
+
+    @Autowired
+    private WeeklyPlanRepository weeklyPlanRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void fullWeekIsInsertedInAFewStatements() {
+        User trainer = user("batch-trainer", Role.TRAINER);
+        User athlete = user("batch-athlete", Role.USER);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDate weekStart = LocalDate.of(2024, 1, 1);
+            WeeklyPlan plan = new WeeklyPlan();
+            plan.setUser(athlete);
+            plan.setTrainer(trainer);
+            plan.setWeekStartDate(weekStart);
+            for (int day = 0; day < 7; day++) {
+                for (int i = 0; i < WORKOUTS_PER_DAY; i++) {
+                    WorkoutPlan workout = new WorkoutPlan();
+                    workout.setWorkoutName("Workout " + i);
+                    workout.setSets(3);
+                    workout.setReps(12);
+                    workout.setWorkoutDate(weekStart.plusDays(day));
+                    workout.setUser(athlete);
+                    workout.setWeeklyPlan(plan);
+                    plan.getWorkouts().add(workout);
+                }
+                NutritionAssignment meal = new NutritionAssignment();
+                meal.setCaloriesTarget(2200.0);
+                meal.setNutritionDate(weekStart.plusDays(day));
+                meal.setWeeklyPlan(plan);
+                plan.getNutritionAssignments().add(meal);
+            }
+
+            statistics.clear();
+            weeklyPlanRepository.saveAndFlush(plan);
+        });
+
+        // The plan row itself, then one batch for the workouts and one for the meals
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + 7 * WORKOUTS_PER_DAY + 7);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    private User user(String prefix, Role role) {
+        String username = prefix + "-" + System.nanoTime();
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@wellnest.test")
+                .password("{noop}secret")
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,163 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.NutritionLogDTO;
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.dto.SleepMoodDTO;
+import com.wellnest.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyLogUpsertTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void laterSleepEntryKeepsTheFieldsItLeavesOut() {
+        String athlete = register();
+
+        userService.logSleepMood(sleep(7.5, "Calm", 2), athlete);
+        userService.logSleepMood(sleep(null, "Happy", null), athlete);
+
+        Map<String, Object> row = sleepRow(athlete);
+        assertThat(((Number) row.get("sleep_hours")).doubleValue()).isEqualTo(7.5);
+        assertThat(row.get("mood")).isEqualTo("Happy");
+        assertThat(((Number) row.get("stress_level")).intValue()).isEqualTo(2);
+    }
+
+    @Test
+    void laterNutritionEntryKeepsTheFieldsItLeavesOut() {
+        String athlete = register();
+
+        NutritionLogDTO first = new NutritionLogDTO();
+        first.setCaloriesConsumed(1800.0);
+        first.setProteinConsumed(120.5);
+        first.setStepsTarget(12000);
+        first.setNutritionDate(today);
+        userService.logNutrition(athlete, first);
+
+        NutritionLogDTO second = new NutritionLogDTO();
+        second.setWaterIntake(2.5);
+        second.setStepsTarget(8000);
+        second.setNutritionDate(today);
+        userService.logNutrition(athlete, second);
+
+        Map<String, Object> row = nutritionRow(athlete);
+        assertThat(((Number) row.get("calories_consumed")).doubleValue()).isEqualTo(1800.0);
+        assertThat(((Number) row.get("protein_consumed")).doubleValue()).isEqualTo(120.5);
+        assertThat(((Number) row.get("water_intake")).doubleValue()).isEqualTo(2.5);
+        // Only the entry that creates the row sets the target
+        assertThat(((Number) row.get("steps_target")).intValue()).isEqualTo(12000);
+    }
+
+    @Test
+    void concurrentFirstWritesLeaveOneRowPerDay() throws Exception {
+        String athlete = register();
+
+        runConcurrently(i -> {
+            if (i % 2 == 0) {
+                userService.logSleepMood(sleep(6.0 + i, "Calm", i), athlete);
+            } else {
+                NutritionLogDTO log = new NutritionLogDTO();
+                log.setCaloriesConsumed(1000.0 + i);
+                log.setNutritionDate(today);
+                userService.logNutrition(athlete, log);
+            }
+        });
+
+        assertThat(jdbc.queryForObject("""
+                select count(*) from sleep_mood s join user_profiles p on p.id = s.profile_id
+                join users u on u.id = p.user_id where u.username = ? and s.date = ?
+                """, Integer.class, athlete, today)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("""
+                select count(*) from nutrition_logs n join users u on u.id = n.user_id
+                where u.username = ? and n.nutrition_date = ?
+                """, Integer.class, athlete, today)).isEqualTo(1);
+    }
+
+    private interface Writer {
+        void write(int index) throws Exception;
+    }
+
+    private void runConcurrently(Writer writer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    writer.write(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Map<String, Object> sleepRow(String athlete) {
+        return jdbc.queryForMap("""
+                select s.sleep_hours, s.mood, s.stress_level
+                from sleep_mood s join user_profiles p on p.id = s.profile_id join users u on u.id = p.user_id
+                where u.username = ? and s.date = ?
+                """, athlete, today);
+    }
+
+    private Map<String, Object> nutritionRow(String athlete) {
+        return jdbc.queryForMap("""
+                select n.calories_consumed, n.protein_consumed, n.water_intake, n.steps_target
+                from nutrition_logs n join users u on u.id = n.user_id
+                where u.username = ? and n.nutrition_date = ?
+                """, athlete, today);
+    }
+
+    private String register() {
+        String username = "upsert-athlete-" + System.nanoTime();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(Role.USER);
+        authService.register(request);
+        return username;
+    }
+
+    private SleepMoodDTO sleep(Double hours, String mood, Integer stressLevel) {
+        SleepMoodDTO dto = new SleepMoodDTO();
+        dto.setSleepHours(hours);
+        dto.setMood(mood);
+        dto.setStressLevel(stressLevel);
+        dto.setDate(today);
+        return dto;
+    }
+}
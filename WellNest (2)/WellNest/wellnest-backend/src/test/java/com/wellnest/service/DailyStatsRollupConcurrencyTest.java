@@ -0,0 +1,127 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.NutritionLogDTO;
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.dto.SleepMoodDTO;
+import com.wellnest.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 runs at READ COMMITTED, so this cannot reproduce a stale InnoDB snapshot; it checks that racing first
+// writes of different kinds for one day leave a single rollup row holding both
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyStatsRollupConcurrencyTest {
+
+    private static final int DAYS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void firstWritesOfADayFromTwoWritersLeaveOneCompleteRow() throws Exception {
+        String athlete = register("rollup-athlete");
+        LocalDate firstDay = LocalDate.now().minusDays(DAYS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < DAYS; i++) {
+                LocalDate day = firstDay.plusDays(i);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> nutrition = pool.submit(() -> {
+                    start.await();
+                    userService.logNutrition(athlete, nutrition(1800.0, day));
+                    return null;
+                });
+                Future<?> sleep = pool.submit(() -> {
+                    start.await();
+                    userService.logSleepMood(sleep(7.5, day), athlete);
+                    return null;
+                });
+                start.countDown();
+                nutrition.get();
+                sleep.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Map<String, Object>> rows = jdbc.queryForList("""
+                select s.stats_date, s.nutrition_logged, s.calories_consumed, s.sleep_logged, s.sleep_hours
+                from daily_user_stats s join users u on u.id = s.user_id
+                where u.username = ? order by s.stats_date
+                """, athlete);
+        assertThat(rows).hasSize(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            Map<String, Object> row = rows.get(i);
+            assertThat(row.get("stats_date")).isEqualTo(java.sql.Date.valueOf(firstDay.plusDays(i)));
+            assertThat(row.get("nutrition_logged")).isEqualTo(true);
+            assertThat(((Number) row.get("calories_consumed")).doubleValue()).isEqualTo(1800.0);
+            assertThat(row.get("sleep_logged")).isEqualTo(true);
+            assertThat(((Number) row.get("sleep_hours")).doubleValue()).isEqualTo(7.5);
+        }
+    }
+
+    @Test
+    void rewriteOfADayReplacesItsTotals() {
+        String athlete = register("rollup-athlete");
+        LocalDate day = LocalDate.now();
+
+        userService.logNutrition(athlete, nutrition(1800.0, day));
+        userService.logNutrition(athlete, nutrition(2100.0, day));
+
+        Map<String, Object> row = jdbc.queryForMap("""
+                select s.calories_consumed, s.sleep_logged, s.calories_target
+                from daily_user_stats s join users u on u.id = s.user_id
+                where u.username = ? and s.stats_date = ?
+                """, athlete, day);
+        assertThat(((Number) row.get("calories_consumed")).doubleValue()).isEqualTo(2100.0);
+        assertThat(row.get("sleep_logged")).isEqualTo(false);
+        assertThat(((Number) row.get("calories_target")).doubleValue())
+                .isEqualTo(DailyStatsRollupService.DEFAULT_CALORIES_TARGET);
+    }
+
+    private String register(String prefix) {
+        String username = prefix + "-" + System.nanoTime();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(Role.USER);
+        authService.register(request);
+        return username;
+    }
+
+    private static NutritionLogDTO nutrition(double calories, LocalDate date) {
+        NutritionLogDTO dto = new NutritionLogDTO();
+        dto.setCaloriesConsumed(calories);
+        dto.setNutritionDate(date);
+        return dto;
+    }
+
+    private static SleepMoodDTO sleep(double hours, LocalDate date) {
+        SleepMoodDTO dto = new SleepMoodDTO();
+        dto.setSleepHours(hours);
+        dto.setMood("Calm");
+        dto.setDate(date);
+        return dto;
+    }
+}
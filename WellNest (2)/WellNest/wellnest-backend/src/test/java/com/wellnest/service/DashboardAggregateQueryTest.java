@@ -0,0 +1,172 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.dto.DashboardSection;
+import com.wellnest.dto.DashboardSummaryDTO;
+import com.wellnest.dto.NutritionLogDTO;
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.dto.SleepMoodDTO;
+import com.wellnest.dto.WeeklyPlanRequest;
+import com.wellnest.dto.WorkoutResponseDTO;
+import com.wellnest.entity.Role;
+import com.wellnest.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The rollup is off so both dashboards are built from the source tables
+@SpringBootTest(properties = "wellnest.dashboard.rollup-enabled=false")
+@ActiveProfiles("test")
+class DashboardAggregateQueryTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    private final LocalDate weekStart = LocalDate.now().minusDays(6);
+
+    private String athlete;
+
+    @BeforeEach
+    void seed() {
+        athlete = register("aggregate-athlete", Role.USER);
+        String trainer = register("aggregate-trainer", Role.TRAINER);
+        trainerService.assignTrainerToUser(athlete, userRepository.findByUsername(trainer).orElseThrow().getId());
+
+        WeeklyPlanRequest plan = new WeeklyPlanRequest();
+        plan.setWeekStartDate(weekStart);
+        plan.setWorkouts(List.of(workout("Squats", weekStart), workout("Rows", weekStart.plusDays(2)),
+                workout("Run", weekStart.plusDays(4))));
+        plan.setMeals(List.of(meal(2200.0, weekStart), meal(2500.0, weekStart.plusDays(1))));
+        trainerService.assignWeeklyPlan(trainer, userRepository.findByUsername(athlete).orElseThrow().getId(), plan);
+
+        userService.logAdHocWorkout(athlete, WorkoutResponseDTO.builder().workoutName("Swim").duration("30 min")
+                .caloriesBurned(250).workoutDate(weekStart.plusDays(1)).category("Cardio").build());
+        userService.logAdHocWorkout(athlete, WorkoutResponseDTO.builder().workoutName("Yoga").duration("45 min")
+                .caloriesBurned(120).workoutDate(weekStart.plusDays(5)).category("Mobility").build());
+
+        userService.logSleepMood(sleep(7.5, "Calm", weekStart), athlete);
+        userService.logSleepMood(sleep(6.0, "Tired", weekStart.plusDays(3)), athlete);
+        userService.logSleepMood(sleep(8.5, "Happy", weekStart.plusDays(6)), athlete);
+
+        userService.logNutrition(athlete, nutrition(1800.0, 120.5, weekStart));
+        userService.logNutrition(athlete, nutrition(2100.0, 98.25, weekStart.plusDays(2)));
+    }
+
+    @AfterEach
+    void restoreDefault() {
+        setAggregateQueryEnabled(true);
+    }
+
+    @Test
+    void aggregateAndLegacyPathsBuildTheSameDashboard() {
+        LocalDate weekEnd = weekStart.plusDays(6);
+
+        DashboardSummaryDTO legacy = summary(false, weekStart, weekEnd);
+        DashboardSummaryDTO aggregate = summary(true, weekStart, weekEnd);
+
+        assertThat(aggregate).isEqualTo(legacy);
+        assertThat(aggregate.getTotalWorkouts()).isEqualTo(5);
+        assertThat(aggregate.getAvgSleep()).isEqualTo(7.3);
+        assertThat(aggregate.getCaloriesConsumed()).isEqualTo(3900.0);
+    }
+
+    @Test
+    void pathsAgreeOnASingleDay() {
+        LocalDate day = weekStart.plusDays(2);
+
+        assertThat(summary(true, day, day)).isEqualTo(summary(false, day, day));
+    }
+
+    @Test
+    void pathsAgreeWhenNothingWasLogged() {
+        LocalDate before = weekStart.minusDays(10);
+
+        assertThat(summary(true, before, before.plusDays(3))).isEqualTo(summary(false, before, before.plusDays(3)));
+    }
+
+    private DashboardSummaryDTO summary(boolean aggregateQueryEnabled, LocalDate start, LocalDate end) {
+        setAggregateQueryEnabled(aggregateQueryEnabled);
+        dashboardCache.invalidateUser(athlete);
+        return userService.getDashboardSummary(athlete, start, end, Set.of(DashboardSection.values()),
+                DashboardGranularity.DAY);
+    }
+
+    private void setAggregateQueryEnabled(boolean enabled) {
+        Object target = AopTestUtils.getUltimateTargetObject(userService);
+        ReflectionTestUtils.setField(target, "aggregateQueryEnabled", enabled);
+    }
+
+    private String register(String prefix, Role role) {
+        String username = prefix + "-" + System.nanoTime();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(role);
+        authService.register(request);
+        return username;
+    }
+
+    private static WeeklyPlanRequest.WorkoutItem workout(String name, LocalDate date) {
+        WeeklyPlanRequest.WorkoutItem item = new WeeklyPlanRequest.WorkoutItem();
+        item.setWorkoutName(name);
+        item.setSets(3);
+        item.setReps(10);
+        item.setWorkoutDate(date);
+        return item;
+    }
+
+    private static WeeklyPlanRequest.MealItem meal(double calories, LocalDate date) {
+        WeeklyPlanRequest.MealItem item = new WeeklyPlanRequest.MealItem();
+        item.setCaloriesTarget(calories);
+        item.setProteinTarget(150.0);
+        item.setCarbsTarget(250.0);
+        item.setFatsTarget(70.0);
+        item.setNutritionDate(date);
+        return item;
+    }
+
+    private static SleepMoodDTO sleep(double hours, String mood, LocalDate date) {
+        SleepMoodDTO dto = new SleepMoodDTO();
+        dto.setSleepHours(hours);
+        dto.setMood(mood);
+        dto.setStressLevel(3);
+        dto.setDate(date);
+        return dto;
+    }
+
+    private static NutritionLogDTO nutrition(double calories, double protein, LocalDate date) {
+        NutritionLogDTO dto = new NutritionLogDTO();
+        dto.setCaloriesConsumed(calories);
+        dto.setProteinConsumed(protein);
+        dto.setCarbsConsumed(210.0);
+        dto.setFatsConsumed(55.5);
+        dto.setWaterIntake(2.5);
+        dto.setSteps(8000);
+        dto.setStepsTarget(10000);
+        dto.setNutritionDate(date);
+        return dto;
+    }
+}
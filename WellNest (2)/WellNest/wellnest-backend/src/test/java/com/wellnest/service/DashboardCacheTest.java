@@ -0,0 +1,90 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.DashboardGranularity;
+import com.wellnest.dto.DashboardSection;
+import com.wellnest.dto.DashboardSummaryDTO;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardCacheTest {
+
+    private static final Set<DashboardSection> SECTIONS = Set.of(DashboardSection.values());
+
+    private final DashboardCache cache = new DashboardCache(100, 300);
+
+    private final LocalDate monday = LocalDate.of(2024, 1, 1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void writeEvictsOnlyThatUsersRangesCoveringTheDate() {
+        load("alice", monday, monday.plusDays(6));
+        load("alice", monday.plusDays(7), monday.plusDays(13));
+        load("bob", monday, monday.plusDays(6));
+
+        cache.invalidate("alice", monday.plusDays(2));
+
+        int before = loads.get();
+        load("alice", monday.plusDays(7), monday.plusDays(13));
+        load("bob", monday, monday.plusDays(6));
+        assertThat(loads.get()).isEqualTo(before);
+        load("alice", monday, monday.plusDays(6));
+        assertThat(loads.get()).isEqualTo(before + 1);
+        assertThat(cache.getStats().get("invalidations")).isEqualTo(1L);
+    }
+
+    @Test
+    void usersWithNothingCachedAreDropped() {
+        load("alice", monday, monday.plusDays(6));
+        load("bob", monday, monday.plusDays(6));
+        assertThat(cache.getStats().get("users")).isEqualTo(2);
+
+        cache.invalidateUser("alice");
+        cache.invalidate("carol", monday);
+
+        assertThat(cache.getStats().get("users")).isEqualTo(1);
+    }
+
+    @Test
+    void loadThatRacedWithAWriteIsNotStored() {
+        cache.get("alice", monday, monday, SECTIONS, DashboardGranularity.DAY, () -> {
+            cache.invalidate("alice", monday);
+            return summary();
+        });
+
+        int before = loads.get();
+        load("alice", monday, monday);
+        assertThat(loads.get()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void batchLoadStoresEveryMissAndReleasesTheRest() {
+        load("alice", monday, monday);
+
+        Map<String, DashboardSummaryDTO> found = cache.getAll(List.of("alice", "bob", "carol"), monday, monday,
+                SECTIONS, DashboardGranularity.DAY, missing -> {
+                    assertThat(missing).containsExactly("bob", "carol");
+                    return Map.of("bob", summary());
+                });
+
+        assertThat(found).containsOnlyKeys("alice", "bob");
+        assertThat(cache.getStats().get("users")).isEqualTo(2);
+    }
+
+    private void load(String username, LocalDate start, LocalDate end) {
+        cache.get(username, start, end, SECTIONS, DashboardGranularity.DAY, () -> {
+            loads.incrementAndGet();
+            return summary();
+        });
+    }
+
+    private static DashboardSummaryDTO summary() {
+        return new DashboardSummaryDTO();
+    }
+}
@@ -0,0 +1,61 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.RegisterRequest;
+import com.wellnest.entity.Role;
+import com.wellnest.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The identity index is cleared of an existing user, as if it had registered on another instance
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistrationConflictTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserIdentityIndex userIdentityIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void takenUsernameMissedByTheIndexIsReportedAsTaken() {
+        String username = unseenUser();
+
+        assertThatThrownBy(() -> authService.register(request(username, "other-" + System.nanoTime())))
+                .hasMessage("Error: Username is already taken!");
+    }
+
+    @Test
+    void takenEmailMissedByTheIndexIsReportedAsTaken() {
+        String username = unseenUser();
+
+        assertThatThrownBy(() -> authService.register(request("other-" + System.nanoTime(), username)))
+                .hasMessage("Error: Email is already taken!");
+        assertThat(userRepository.findByEmail(username + "@wellnest.test")).get()
+                .extracting("username").isEqualTo(username);
+    }
+
+    private String unseenUser() {
+        String username = "conflict-" + System.nanoTime();
+        authService.register(request(username, username));
+        userIdentityIndex.remove(username, username + "@wellnest.test");
+        return username;
+    }
+
+    private static RegisterRequest request(String username, String emailName) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(emailName + "@wellnest.test");
+        request.setPassword("secret123");
+        request.setRole(Role.USER);
+        return request;
+    }
+}
@@ -0,0 +1,153 @@
+package com.wellnest.service;
+
+import com.wellnest.dto.NutritionLogDTO;
+import com.wellnest.dto.WorkoutResponseDTO;
+import com.wellnest.entity.Role;
+import com.wellnest.entity.User;
+import com.wellnest.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StreakConcurrencyTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StreakService streakService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void parallelLogsOnOneDayAdvanceTheStreakOnce() throws Exception {
+        User athlete = athleteWithStreak(4, today.minusDays(1));
+
+        runConcurrently(i -> {
+            if (i % 2 == 0) {
+                NutritionLogDTO log = new NutritionLogDTO();
+                log.setCaloriesConsumed(500.0 + i);
+                log.setNutritionDate(today);
+                userService.logNutrition(athlete.getUsername(), log);
+            } else {
+                userService.logAdHocWorkout(athlete.getUsername(), WorkoutResponseDTO.builder()
+                        .workoutName("Run " + i).duration("20 min").caloriesBurned(200).workoutDate(today).build());
+            }
+        });
+
+        assertStreak(athlete, 5, today);
+    }
+
+    @Test
+    void parallelUpdatesAcrossDaysNeverMoveTheStreakBackwards() throws Exception {
+        User athlete = athleteWithStreak(1, today.minusDays(3));
+
+        // Yesterday and today raced in any order: today must win, and yesterday may only count before it
+        runConcurrently(i -> streakService.updateStreak(athlete, i % 2 == 0 ? today.minusDays(1) : today));
+
+        Map<String, Object> row = streakRow(athlete);
+        assertThat(row.get("last_activity_date")).isEqualTo(java.sql.Date.valueOf(today));
+        assertThat(((Number) row.get("current_streak")).intValue()).isBetween(1, 2);
+    }
+
+    @Test
+    void wholeRowSaveDoesNotRevertAConcurrentAdvance() throws Exception {
+        User athlete = athleteWithStreak(4, today.minusDays(1));
+        User trainer = userRepository.save(newUser("streak-trainer", Role.TRAINER));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(athlete.getId()).orElseThrow();
+            // Another request advances the streak after this one has read the row
+            CompletableFuture.runAsync(() -> streakService.updateStreak(athlete, today)).join();
+            loaded.setAssignedTrainer(trainer);
+            userRepository.save(loaded);
+        });
+
+        assertStreak(athlete, 5, today);
+    }
+
+    private interface Writer {
+        void write(int index) throws Exception;
+    }
+
+    private void runConcurrently(Writer writer) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    writer.write(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private User athleteWithStreak(int streak, LocalDate lastActivity) {
+        User athlete = userRepository.save(newUser("streak-athlete", Role.USER));
+        jdbc.update("update users set current_streak = ?, last_activity_date = ? where id = ?", streak,
+                lastActivity, athlete.getId());
+        entityManagerFactory.getCache().evict(User.class, athlete.getId());
+        return userRepository.findById(athlete.getId()).orElseThrow();
+    }
+
+    private void assertStreak(User athlete, int streak, LocalDate lastActivity) {
+        Map<String, Object> row = streakRow(athlete);
+        assertThat(((Number) row.get("current_streak")).intValue()).isEqualTo(streak);
+        assertThat(row.get("last_activity_date")).isEqualTo(java.sql.Date.valueOf(lastActivity));
+    }
+
+    private Map<String, Object> streakRow(User athlete) {
+        return jdbc.queryForMap("select current_streak, last_activity_date from users where id = ?",
+                athlete.getId());
+    }
+
+    private static User newUser(String prefix, Role role) {
+        String username = prefix + "-" + System.nanoTime();
+        return User.builder()
+                .username(username)
+                .email(username + "@wellnest.test")
+                .password("{noop}secret")
+                .role(role)
+                .build();
+    }
+}
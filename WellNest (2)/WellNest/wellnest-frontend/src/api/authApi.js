@@ -2,8 +2,13 @@ import api from "./axios";
 
 export const login = (data) => api.post("/api/auth/login", data);
 export const register = (data) => api.post("/api/auth/register", data);
+export const logout = (refreshToken, token) =>
+    api.post("/api/auth/logout", { refreshToken }, { headers: { Authorization: `Bearer ${token}` } });
+export const checkAvailability = (params) => api.get("/api/auth/availability", { params });
 
 export default {
     login,
-    register
+    register,
+    logout,
+    checkAvailability
 };
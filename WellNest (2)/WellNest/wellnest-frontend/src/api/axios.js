@@ -1,9 +1,46 @@
 import axios from 'axios';
 
+const baseURL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
+
 const api = axios.create({
-    baseURL: import.meta.env.VITE_API_URL || 'http://localhost:8080',
+    baseURL,
+});
+
+// Refresh calls go through a bare client so they never re-enter the interceptors below
+const refreshClient = axios.create({
+    baseURL,
 });
 
+let refreshPromise = null;
+
+const clearSession = () => {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+    if (window.location.pathname !== '/login') {
+        window.location.href = '/login';
+    }
+};
+
+// Concurrent failures share one refresh, since each refresh token can only be used once
+const refreshAccessToken = () => {
+    if (!refreshPromise) {
+        const refreshToken = localStorage.getItem('refreshToken');
+        refreshPromise = (refreshToken
+            ? refreshClient.post('/api/auth/refresh', { refreshToken })
+            : Promise.reject(new Error('No refresh token')))
+            .then((response) => {
+                localStorage.setItem('token', response.data.token);
+                localStorage.setItem('refreshToken', response.data.refreshToken);
+                return response.data.token;
+            })
+            .finally(() => {
+                refreshPromise = null;
+            });
+    }
+    return refreshPromise;
+};
+
 api.interceptors.request.use(
     (config) => {
         const token = localStorage.getItem('token');
@@ -17,12 +54,23 @@ api.interceptors.request.use(
 
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
+    async (error) => {
+        const config = error.config;
         if (error.response && [401, 403].includes(error.response.status)) {
-            localStorage.removeItem('token');
-            localStorage.removeItem('user');
-            if (window.location.pathname !== '/login') {
-                window.location.href = '/login';
+            const isAuthCall = config?.url?.startsWith('/api/auth/');
+            if (config && !config._retried && !isAuthCall) {
+                config._retried = true;
+                try {
+                    const token = await refreshAccessToken();
+                    config.headers.Authorization = `Bearer ${token}`;
+                    return api(config);
+                } catch (refreshError) {
+                    clearSession();
+                    return Promise.reject(error);
+                }
+            }
+            if (!isAuthCall) {
+                clearSession();
             }
         }
         return Promise.reject(error);
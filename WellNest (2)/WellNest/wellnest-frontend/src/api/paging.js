@@ -0,0 +1,19 @@
+import api from './axios';
+
+// List endpoints return at most one page and put the cursor for the next one in this header
+export const nextCursor = (response) => response.headers['x-next-cursor'] || null;
+
+// Fetches every page of a cursor-paged list, for screens that show the whole list
+export const getAllPages = async (url, config = {}) => {
+    const items = [];
+    let cursor = null;
+    do {
+        const response = await api.get(url, {
+            ...config,
+            params: cursor ? { ...config.params, cursor } : config.params,
+        });
+        items.push(...response.data);
+        cursor = nextCursor(response);
+    } while (cursor);
+    return items;
+};
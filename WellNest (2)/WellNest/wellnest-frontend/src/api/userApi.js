@@ -57,8 +57,9 @@ export const getTrainerSuggestions = (goal) =>
 export const assignTrainer = (trainerId) =>
   api.post(`/api/user/assign-trainer/${trainerId}`);
 
-export const getBlogPosts = () =>
-  api.get("/api/blog");
+// Newest first, one page at a time; pass the previous response's next cursor for the page after it
+export const getBlogPosts = (cursor = null) =>
+  api.get("/api/blog", { params: cursor ? { cursor } : {} });
 
 export const createBlogPost = (data) =>
   api.post("/api/blog", data);
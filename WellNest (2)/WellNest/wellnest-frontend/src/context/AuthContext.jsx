@@ -1,5 +1,5 @@
 import React, { createContext, useState, useContext, useEffect } from 'react';
-import { login as apiLogin, register as apiRegister } from '../api/authApi';
+import { login as apiLogin, register as apiRegister, logout as apiLogout } from '../api/authApi';
 
 const AuthContext = createContext();
 
@@ -18,6 +18,7 @@ export const AuthProvider = ({ children }) => {
             console.error("Auth initialization failed", e);
             localStorage.removeItem('user');
             localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
         } finally {
             setLoading(false);
         }
@@ -26,10 +27,11 @@ export const AuthProvider = ({ children }) => {
     const login = async (username, password, role) => {
         try {
             const response = await apiLogin({ username, password, role });
-            const { token, role: userRole } = response.data;
+            const { token, refreshToken, role: userRole } = response.data;
             const userData = { username, role: userRole };
 
             localStorage.setItem('token', token);
+            localStorage.setItem('refreshToken', refreshToken);
             localStorage.setItem('user', JSON.stringify(userData));
             setUser(userData);
             return { success: true, role: userRole };
@@ -56,7 +58,14 @@ export const AuthProvider = ({ children }) => {
     };
 
     const logout = () => {
+        const token = localStorage.getItem('token');
+        const refreshToken = localStorage.getItem('refreshToken');
+        // Revoke server-side without holding up the local logout
+        if (refreshToken) {
+            apiLogout(refreshToken, token).catch(() => {});
+        }
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
         setUser(null);
     };
@@ -1,5 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import api from '../../api/axios';
+import { getAllPages } from '../../api/paging';
 
 const AdminDashboard = () => {
     const [users, setUsers] = useState([]);
@@ -20,9 +21,11 @@ const AdminDashboard = () => {
 
     const fetchUsers = async () => {
         try {
-            const response = await api.get('/api/admin/users');
-            const trainersRes = await api.get('/api/admin/trainers');
-            setUsers([...response.data, ...trainersRes.data.filter(t => !response.data.some(u => u.id === t.id))]);
+            const [allUsers, trainers] = await Promise.all([
+                getAllPages('/api/admin/users'),
+                getAllPages('/api/admin/trainers'),
+            ]);
+            setUsers([...allUsers, ...trainers.filter(t => !allUsers.some(u => u.id === t.id))]);
         } catch (error) {
             console.error('Error fetching users:', error);
         }
@@ -30,8 +33,7 @@ const AdminDashboard = () => {
 
     const fetchTips = async () => {
         try {
-            const response = await api.get('/api/admin/tips');
-            setTips(response.data);
+            setTips(await getAllPages('/api/admin/tips'));
         } catch (error) {
             console.error('Error fetching tips:', error);
         }
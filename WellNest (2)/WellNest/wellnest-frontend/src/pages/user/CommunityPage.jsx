@@ -2,10 +2,13 @@ import React, { useState, useEffect } from 'react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { Users, BookOpen, MessageSquare, ChevronRight, User, Award, Star, Search, Filter } from 'lucide-react';
 import { getTrainerSuggestions, getBlogPosts, assignTrainer, getProfile } from '../../api/userApi';
+import { nextCursor } from '../../api/paging';
 
 const CommunityPage = () => {
     const [trainers, setTrainers] = useState([]);
     const [posts, setPosts] = useState([]);
+    const [postsCursor, setPostsCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [userGoal, setUserGoal] = useState('');
     const [loading, setLoading] = useState(true);
     const [activeTab, setActiveTab] = useState('blog'); // 'blog' or 'trainers'
@@ -24,6 +27,7 @@ const CommunityPage = () => {
 
                 setTrainers(trainerRes.data);
                 setPosts(blogRes.data);
+                setPostsCursor(nextCursor(blogRes));
             } catch (err) {
                 console.error("Failed to fetch community data", err);
             } finally {
@@ -33,6 +37,19 @@ const CommunityPage = () => {
         fetchInitialData();
     }, []);
 
+    const handleLoadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const blogRes = await getBlogPosts(postsCursor);
+            setPosts(prev => [...prev, ...blogRes.data]);
+            setPostsCursor(nextCursor(blogRes));
+        } catch (err) {
+            console.error("Failed to load more posts", err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleAssign = async (trainerId) => {
         try {
             await assignTrainer(trainerId);
@@ -121,6 +138,17 @@ const CommunityPage = () => {
                                 </motion.div>
                             ))
                         )}
+                        {postsCursor && (
+                            <div className="col-span-full flex justify-center">
+                                <button
+                                    onClick={handleLoadMore}
+                                    disabled={loadingMore}
+                                    className="px-8 py-4 bg-white border border-slate-100 rounded-[20px] font-black uppercase text-[10px] tracking-widest text-slate-600 shadow-sm hover:shadow-xl transition-all disabled:opacity-50"
+                                >
+                                    {loadingMore ? 'Loading...' : 'Load More Articles'}
+                                </button>
+                            </div>
+                        )}
                     </motion.div>
                 ) : (
                     <motion.div